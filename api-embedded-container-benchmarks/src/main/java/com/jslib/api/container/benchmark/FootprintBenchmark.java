@@ -0,0 +1,91 @@
+package com.jslib.api.container.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jslib.api.container.EmbeddedContainer;
+
+/**
+ * Heap footprint probe: create a number of containers, keep them reachable and measure heap used after full garbage
+ * collection. Retained heap per container is reported as auxiliary counter <code>retainedBytes</code>, next to the
+ * time needed to create all containers.
+ * 
+ * @author Iulian Rotaru
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(3)
+@State(Scope.Benchmark)
+public class FootprintBenchmark
+{
+  @Param("1000")
+  public int containersCount;
+
+  private final List<EmbeddedContainer> containers = new ArrayList<>();
+
+  @Benchmark
+  public List<EmbeddedContainer> retainedHeap(Footprint footprint)
+  {
+    long heapUsed = footprint.heapUsed();
+    for(int i = 0; i < containersCount; ++i) {
+      EmbeddedContainer container = EmbeddedContainer.create();
+      container.getInstance(Service.class);
+      containers.add(container);
+    }
+    footprint.retainedBytes = (footprint.heapUsed() - heapUsed) / containersCount;
+    return containers;
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws Exception
+  {
+    for(EmbeddedContainer container : containers) {
+      container.close();
+    }
+    containers.clear();
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Footprint
+  {
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    public long retainedBytes;
+
+    @Setup(Level.Iteration)
+    public void reset()
+    {
+      retainedBytes = 0;
+    }
+
+    long heapUsed()
+    {
+      // a couple of collections to give finalizers and reference processing a chance to settle
+      for(int i = 0; i < 3; ++i) {
+        System.gc();
+      }
+      return memory.getHeapMemoryUsage().getUsed();
+    }
+  }
+}
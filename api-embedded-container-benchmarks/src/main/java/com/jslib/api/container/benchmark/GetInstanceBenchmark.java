@@ -0,0 +1,81 @@
+package com.jslib.api.container.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jslib.api.container.EmbeddedContainer;
+import com.jslib.api.container.InstanceHandle;
+
+/**
+ * Steady-state throughput for instance retrieval, both via container lookup and via resolved instance handle.
+ * 
+ * @author Iulian Rotaru
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GetInstanceBenchmark
+{
+  private EmbeddedContainer container;
+  private InstanceHandle<Service> serviceHandle;
+  private InstanceHandle<Service.Singleton> singletonHandle;
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    container = EmbeddedContainer.create();
+    serviceHandle = container.getInstanceHandle(Service.class);
+    singletonHandle = container.getInstanceHandle(Service.Singleton.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception
+  {
+    container.close();
+  }
+
+  @Benchmark
+  public Service getInstance()
+  {
+    return container.getInstance(Service.class);
+  }
+
+  @Benchmark
+  public Service getSingleton()
+  {
+    return container.getInstance(Service.Singleton.class);
+  }
+
+  @Benchmark
+  public Service handleInstance()
+  {
+    return serviceHandle.get();
+  }
+
+  @Benchmark
+  public Service handleSingleton()
+  {
+    return singletonHandle.get();
+  }
+
+  @Benchmark
+  public Object[] getInstances()
+  {
+    return container.getInstances(Service.class, Service.Singleton.class, Service.Local.class);
+  }
+}
@@ -0,0 +1,54 @@
+package com.jslib.api.container.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole process startup: launch a new JVM executing {@link StartupMain} and wait for it to exit. Includes JVM boot and
+ * class path scanning, so it is the number that matters for short-lived processes and container orchestrators. Extra
+ * JVM options for launched process, e.g. class data sharing archive, can be supplied via <code>startup.jvmArgs</code>
+ * system property, space separated.
+ * 
+ * @author Iulian Rotaru
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProcessStartupBenchmark
+{
+  @Benchmark
+  public int launch() throws IOException, InterruptedException
+  {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    String jvmArgs = System.getProperty("startup.jvmArgs", "").trim();
+
+    ProcessBuilder builder = new ProcessBuilder();
+    builder.command().add(java);
+    if(!jvmArgs.isEmpty()) {
+      for(String jvmArg : jvmArgs.split("\\s+")) {
+        builder.command().add(jvmArg);
+      }
+    }
+    builder.command().add("-cp");
+    builder.command().add(System.getProperty("java.class.path"));
+    builder.command().add(StartupMain.class.getName());
+    builder.inheritIO();
+
+    int exitCode = builder.start().waitFor();
+    if(exitCode != 0) {
+      throw new IllegalStateException("Startup process exit code " + exitCode);
+    }
+    return exitCode;
+  }
+}
@@ -0,0 +1,46 @@
+package com.jslib.api.container.benchmark;
+
+/**
+ * Managed services bound by {@link StubContainer}.
+ * 
+ * @author Iulian Rotaru
+ */
+public interface Service
+{
+  int call(int value);
+
+  interface Singleton extends Service
+  {
+  }
+
+  interface Local extends Service
+  {
+  }
+
+  class ServiceImpl implements Service
+  {
+    @Override
+    public int call(int value)
+    {
+      return value + 1;
+    }
+  }
+
+  class SingletonImpl implements Singleton
+  {
+    @Override
+    public int call(int value)
+    {
+      return value + 2;
+    }
+  }
+
+  class LocalImpl implements Local
+  {
+    @Override
+    public int call(int value)
+    {
+      return value + 3;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.jslib.api.container.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jslib.api.container.EmbeddedContainer;
+
+/**
+ * Cold start benchmark: time from {@link EmbeddedContainer#create(Object...)} to first
+ * {@link EmbeddedContainer#getInstance(Class)}. Every measurement runs once in a freshly forked JVM so that class
+ * loading, provider discovery and JIT warm-up are all included.
+ * 
+ * @author Iulian Rotaru
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark
+{
+  @Benchmark
+  public int createToFirstInstance() throws Exception
+  {
+    try(EmbeddedContainer container = EmbeddedContainer.create()) {
+      return container.getInstance(Service.class).call(1);
+    }
+  }
+}
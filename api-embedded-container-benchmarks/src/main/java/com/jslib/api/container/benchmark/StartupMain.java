@@ -0,0 +1,18 @@
+package com.jslib.api.container.benchmark;
+
+import com.jslib.api.container.EmbeddedContainer;
+
+/**
+ * Entry point for process launched by {@link ProcessStartupBenchmark}: create container, get first instance and exit.
+ * 
+ * @author Iulian Rotaru
+ */
+public class StartupMain
+{
+  public static void main(String... args) throws Exception
+  {
+    try(EmbeddedContainer container = EmbeddedContainer.create()) {
+      container.getInstance(Service.class).call(1);
+    }
+  }
+}
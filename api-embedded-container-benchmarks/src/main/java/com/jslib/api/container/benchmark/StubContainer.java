@@ -0,0 +1,84 @@
+package com.jslib.api.container.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.jslib.api.container.EmbeddedContainer;
+import com.jslib.api.container.EmbeddedContainerException;
+import com.jslib.api.container.InstanceHandle;
+
+/**
+ * Minimal embedded container with a fixed set of bindings, see {@link Service}. Singleton services are created eagerly
+ * whereas the others are created on every request, by reflection.
+ * 
+ * @author Iulian Rotaru
+ */
+class StubContainer implements EmbeddedContainer
+{
+  private final Map<Class<?>, Supplier<?>> bindings = new HashMap<>();
+
+  StubContainer()
+  {
+    Service.Singleton singleton = new Service.SingletonImpl();
+    bind(Service.Singleton.class, () -> singleton);
+    bind(Service.Local.class, () -> newInstance(Service.LocalImpl.class));
+    bind(Service.class, () -> newInstance(Service.ServiceImpl.class));
+  }
+
+  private <T> void bind(Class<T> interfaceClass, Supplier<? extends T> supplier)
+  {
+    bindings.put(interfaceClass, supplier);
+  }
+
+  private static <T> T newInstance(Class<T> implementationClass)
+  {
+    try {
+      return implementationClass.getDeclaredConstructor().newInstance();
+    }
+    catch(ReflectiveOperationException e) {
+      throw new EmbeddedContainerException(e);
+    }
+  }
+
+  @Override
+  public <T> T getInstance(Class<T> interfaceClass)
+  {
+    return interfaceClass.cast(supplier(interfaceClass).get());
+  }
+
+  @Override
+  public <T> InstanceHandle<T> getInstanceHandle(Class<T> interfaceClass)
+  {
+    Supplier<?> supplier = supplier(interfaceClass);
+    return new InstanceHandle<T>()
+    {
+      @Override
+      public Class<T> type()
+      {
+        return interfaceClass;
+      }
+
+      @Override
+      public T get()
+      {
+        return interfaceClass.cast(supplier.get());
+      }
+    };
+  }
+
+  private Supplier<?> supplier(Class<?> interfaceClass)
+  {
+    Supplier<?> supplier = bindings.get(interfaceClass);
+    if(supplier == null) {
+      throw new EmbeddedContainerException("No binding for %s.", interfaceClass);
+    }
+    return supplier;
+  }
+
+  @Override
+  public void close()
+  {
+    bindings.clear();
+  }
+}
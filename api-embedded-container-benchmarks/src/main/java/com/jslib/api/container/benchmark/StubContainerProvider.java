@@ -0,0 +1,20 @@
+package com.jslib.api.container.benchmark;
+
+import com.jslib.api.container.EmbeddedContainer;
+import com.jslib.api.container.EmbeddedContainerProvider;
+
+/**
+ * Local stub provider loaded by {@link EmbeddedContainer#create(Object...)} via Java services. It is the baseline
+ * against which real providers are compared; to benchmark a real provider remove this stub from services descriptor
+ * and add provider to class path.
+ * 
+ * @author Iulian Rotaru
+ */
+public class StubContainerProvider implements EmbeddedContainerProvider
+{
+  @Override
+  public EmbeddedContainer createAppContainer(Object... arguments)
+  {
+    return new StubContainer();
+  }
+}
@@ -0,0 +1,57 @@
+package com.jslib.api.container;
+
+/**
+ * Default child container returned by {@link EmbeddedContainer#createChildContainer(Object...)}. Child instances are
+ * the arguments supplied on creation; instances not found on child are retrieved from parent container. Child container
+ * holds only references to parent and its own instances and closing it does not affect parent.
+ * 
+ * @author Iulian Rotaru
+ */
+class ChildContainer implements EmbeddedContainer
+{
+  private final EmbeddedContainer parent;
+  private final Object[] instances;
+
+  ChildContainer(EmbeddedContainer parent, Object[] instances)
+  {
+    this.parent = parent;
+    this.instances = instances.clone();
+  }
+
+  @Override
+  public <T> T getInstance(Class<T> interfaceClass)
+  {
+    for(Object instance : instances) {
+      if(interfaceClass.isInstance(instance)) {
+        return interfaceClass.cast(instance);
+      }
+    }
+    return parent.getInstance(interfaceClass);
+  }
+
+  /** Close child closeable instances in reverse order. First failure is thrown after all instances are closed. */
+  @Override
+  public void close() throws Exception
+  {
+    Exception failure = null;
+    for(int i = instances.length - 1; i >= 0; --i) {
+      if(!(instances[i] instanceof AutoCloseable)) {
+        continue;
+      }
+      try {
+        ((AutoCloseable)instances[i]).close();
+      }
+      catch(Exception e) {
+        if(failure == null) {
+          failure = e;
+        }
+        else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if(failure != null) {
+      throw failure;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.jslib.api.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Record classes loaded while application container starts and serves first requests and write them to a class list
+ * file, in loading order. Class list file uses the format of JDK <code>-XX:DumpLoadedClassList</code> option, that is,
+ * one class name per line in internal form, so that it is usable both for {@link ClassPreloader} and for generating an
+ * application class data sharing archive, see {@link #dumpSharedArchive(Path, Path)}.
+ * 
+ * Recording relies on flight recorder <code>jdk.ClassLoad</code> event and does not require any JVM option. Recording
+ * cost is not negligible and recorder is designed for training runs only.
+ * 
+ * <pre>
+ * ClassListRecorder recorder = new ClassListRecorder();
+ * recorder.start();
+ * // create container and serve first requests
+ * recorder.stop(Paths.get("app.classlist"));
+ * ClassListRecorder.dumpSharedArchive(Paths.get("app.classlist"), Paths.get("app.jsa"));
+ * </pre>
+ * 
+ * On next launch start JVM with <code>-XX:SharedArchiveFile=app.jsa</code> to map shared archive and let
+ * {@link ClassPreloader} preload listed classes in parallel.
+ * 
+ * @author Iulian Rotaru
+ */
+public class ClassListRecorder
+{
+  private static final String CLASS_LOAD_EVENT = "jdk.ClassLoad";
+
+  private final Recording recording = new Recording();
+
+  public ClassListRecorder()
+  {
+    recording.setName("class-list");
+    recording.enable(CLASS_LOAD_EVENT).withoutStackTrace().withoutThreshold();
+    recording.setToDisk(true);
+  }
+
+  /** Start recording loaded classes. Recording is concluded by {@link #stop(Path)}. */
+  public void start()
+  {
+    recording.start();
+  }
+
+  /**
+   * Start recording loaded classes for given period, usually covering container creation and first requests. Recording
+   * is written to given file when period ends or on JVM exit, if sooner. Recording file should be converted to class
+   * list on a later run, see {@link #convert(Path, Path)}.
+   * 
+   * @param recordingFile flight recording file written when recording ends,
+   * @param period recording period.
+   * @throws IOException if recording file is not writable.
+   */
+  public void start(Path recordingFile, Duration period) throws IOException
+  {
+    recording.setDestination(recordingFile);
+    recording.setDuration(period);
+    recording.setDumpOnExit(true);
+    recording.start();
+  }
+
+  /**
+   * Stop recording and write recorded class names to requested class list file.
+   * 
+   * @param classList class list file, created if missing and overwritten if exists.
+   * @return the number of class names written to class list.
+   * @throws IOException if class list writing fails.
+   */
+  public int stop(Path classList) throws IOException
+  {
+    recording.stop();
+    Path recordingFile = Files.createTempFile("class-list", ".jfr");
+    try {
+      recording.dump(recordingFile);
+      return convert(recordingFile, classList);
+    }
+    finally {
+      recording.close();
+      Files.deleteIfExists(recordingFile);
+    }
+  }
+
+  /**
+   * Extract loaded classes from flight recording file and write them to class list file. Hidden and lambda proxy
+   * classes cannot be preloaded and are not included.
+   * 
+   * @param recordingFile flight recording file with <code>jdk.ClassLoad</code> events,
+   * @param classList class list file, created if missing and overwritten if exists.
+   * @return the number of class names written to class list.
+   * @throws IOException if recording file reading or class list writing fails.
+   */
+  public static int convert(Path recordingFile, Path classList) throws IOException
+  {
+    Set<String> classNames = new LinkedHashSet<>();
+    for(RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+      if(!CLASS_LOAD_EVENT.equals(event.getEventType().getName())) {
+        continue;
+      }
+      RecordedClass loadedClass = event.getValue("loadedClass");
+      if(loadedClass != null && !isHidden(loadedClass.getName())) {
+        classNames.add(loadedClass.getName().replace('.', '/'));
+      }
+    }
+    Files.write(classList, classNames, StandardCharsets.UTF_8);
+    return classNames.size();
+  }
+
+  private static boolean isHidden(String className)
+  {
+    return className.contains("$$Lambda") || className.contains("/0x") || className.startsWith("jdk.internal.reflect.Generated");
+  }
+
+  /**
+   * Generate application class data sharing archive from class list. This method launches a new JVM with
+   * <code>-Xshare:dump</code>, using the same Java runtime and class path as current process, and waits for it to
+   * complete. Archive is valid only for the same Java runtime and class path.
+   * 
+   * Archive is generated into a temporary file, next to requested one, and moved in place only on success so that an
+   * interrupted generation, e.g. because current process exits, never leaves a partially written archive.
+   * 
+   * @param classList class list file, as written by {@link #stop(Path)},
+   * @param sharedArchive shared archive file, overwritten if exists.
+   * @throws IOException if archive generation fails.
+   */
+  public static void dumpSharedArchive(Path classList, Path sharedArchive) throws IOException
+  {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add("-Xshare:dump");
+    command.add("-XX:SharedClassListFile=" + classList.toAbsolutePath());
+    Path archiveFile = Paths.get(sharedArchive.toAbsolutePath() + ".tmp");
+    Files.deleteIfExists(archiveFile);
+    command.add("-XX:SharedArchiveFile=" + archiveFile);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+    try {
+      if(!process.waitFor(5, TimeUnit.MINUTES)) {
+        process.destroyForcibly();
+        throw new IOException("Timeout generating shared archive " + sharedArchive);
+      }
+    }
+    catch(InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while generating shared archive " + sharedArchive);
+    }
+    finally {
+      if(process.isAlive() || process.exitValue() != 0) {
+        Files.deleteIfExists(archiveFile);
+      }
+    }
+    if(process.exitValue() != 0) {
+      throw new IOException(String.format("Shared archive %s generation fails with exit code %d.", sharedArchive, process.exitValue()));
+    }
+    Files.move(archiveFile, sharedArchive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
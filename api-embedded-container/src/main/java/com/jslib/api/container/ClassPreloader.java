@@ -0,0 +1,211 @@
+package com.jslib.api.container;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load in parallel the classes from a class list file, in order to take class loading out of application container
+ * startup critical path. Class list file is recorded on a training run by {@link ClassListRecorder}; JDK
+ * <code>-XX:DumpLoadedClassList</code> output is also accepted.
+ * 
+ * Preloading is enabled by {@link EmbeddedContainer#create(Object...)} using <code>js.container.classList</code>
+ * system property, see {@link #bootstrap()}. If property points to an existing class list, listed classes are loaded
+ * in background, overlapping container creation. If class list does not exist, current run is considered a training
+ * run: loaded classes are recorded for a bounded training period, see {@link #TRAINING_PERIOD_PROPERTY}, or till JVM
+ * exit if sooner, into a flight recording file named as class list with <code>.jfr</code> extension. Next run converts
+ * recording to class list and, if
+ * <code>js.container.sharedArchive</code> system property is present, starts shared archive generation in background,
+ * see {@link ClassListRecorder#dumpSharedArchive(Path, Path)}. Shared archive is mapped by runs started with
+ * <code>-XX:SharedArchiveFile</code> JVM option.
+ * 
+ * Preloading is an optimization and never fails container creation: errors are logged and container starts without
+ * it. A recording that cannot be converted, e.g. truncated because training JVM was killed, is renamed with
+ * <code>.corrupt</code> suffix so that next run starts a new training run.
+ * 
+ * @author Iulian Rotaru
+ */
+public class ClassPreloader
+{
+  /** System property for class list file path. */
+  public static final String CLASS_LIST_PROPERTY = "js.container.classList";
+  /** System property for application class data sharing archive path, generated on training run. */
+  public static final String SHARED_ARCHIVE_PROPERTY = "js.container.sharedArchive";
+  /** System property for training run recording period, in seconds. Default to 60 seconds. */
+  public static final String TRAINING_PERIOD_PROPERTY = "js.container.trainingPeriod";
+
+  private static final long DEFAULT_TRAINING_PERIOD = 60;
+
+  private static final System.Logger log = System.getLogger(ClassPreloader.class.getName());
+
+  private static final AtomicBoolean bootstrapped = new AtomicBoolean();
+
+  /**
+   * Preload classes or record class list accordingly system properties described on class description. This method is
+   * idempotent, only first call has effect, and it is a no-operation if class list system property is missing. Errors
+   * are logged and not propagated.
+   */
+  public static void bootstrap()
+  {
+    String classListProperty = System.getProperty(CLASS_LIST_PROPERTY);
+    if(classListProperty == null || !bootstrapped.compareAndSet(false, true)) {
+      return;
+    }
+
+    Path classList = Paths.get(classListProperty);
+    Path recordingFile = Paths.get(classListProperty + ".jfr");
+    if(!Files.exists(classList) && Files.exists(recordingFile) && convert(recordingFile, classList)) {
+      String sharedArchive = System.getProperty(SHARED_ARCHIVE_PROPERTY);
+      if(sharedArchive != null) {
+        dumpSharedArchive(classList, Paths.get(sharedArchive));
+      }
+    }
+
+    try {
+      if(Files.exists(classList)) {
+        preload(classList, Thread.currentThread().getContextClassLoader());
+      }
+      else {
+        new ClassListRecorder().start(recordingFile, trainingPeriod());
+      }
+    }
+    catch(IOException | RuntimeException e) {
+      log.log(System.Logger.Level.WARNING, "Class preloading disabled: " + classList, e);
+    }
+  }
+
+  /**
+   * Convert training run recording to class list and delete recording. If conversion fails recording is renamed with
+   * <code>.corrupt</code> suffix and partial class list, if any, is deleted.
+   * 
+   * @return true if class list was created.
+   */
+  private static boolean convert(Path recordingFile, Path classList)
+  {
+    try {
+      ClassListRecorder.convert(recordingFile, classList);
+      Files.delete(recordingFile);
+      return true;
+    }
+    catch(IOException | RuntimeException e) {
+      log.log(System.Logger.Level.WARNING, "Corrupt class list recording: " + recordingFile, e);
+      try {
+        Files.deleteIfExists(classList);
+        Files.move(recordingFile, Paths.get(recordingFile + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+      }
+      catch(IOException ignored) {
+        // best effort; if recording is not removed next run will try again to convert it
+      }
+      return false;
+    }
+  }
+
+  private static Duration trainingPeriod()
+  {
+    try {
+      return Duration.ofSeconds(Long.parseLong(System.getProperty(TRAINING_PERIOD_PROPERTY, Long.toString(DEFAULT_TRAINING_PERIOD))));
+    }
+    catch(NumberFormatException e) {
+      return Duration.ofSeconds(DEFAULT_TRAINING_PERIOD);
+    }
+  }
+
+  private static void dumpSharedArchive(Path classList, Path sharedArchive)
+  {
+    Thread thread = new Thread(() -> {
+      try {
+        ClassListRecorder.dumpSharedArchive(classList, sharedArchive);
+      }
+      catch(IOException | RuntimeException e) {
+        // shared archive is an optimization; next run simply starts without it
+        log.log(System.Logger.Level.WARNING, "Shared archive dump failed: " + sharedArchive, e);
+      }
+    }, "shared-archive-dump");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Start loading classes from class list, in parallel, using a number of threads equal to available processors.
+   * Classes are loaded without initialization; classes not found are silently ignored since class list may be stale.
+   * This method returns immediately.
+   * 
+   * @param classList class list file,
+   * @param classLoader class loader used to load classes, null for system class loader.
+   * @return future completed with the number of successfully loaded classes.
+   * @throws IOException if class list reading fails.
+   */
+  public static CompletableFuture<Integer> preload(Path classList, ClassLoader classLoader) throws IOException
+  {
+    List<String> classNames = read(classList);
+    ClassLoader loader = classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+
+    int threadsCount = Math.max(1, Runtime.getRuntime().availableProcessors());
+    AtomicInteger threadIndex = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threadsCount, runnable -> {
+      Thread thread = new Thread(runnable, "class-preloader-" + threadIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    // every thread loads a contiguous slice to keep related classes, e.g. super classes, on the same thread
+    AtomicInteger loadedCount = new AtomicInteger();
+    int sliceSize = (classNames.size() + threadsCount - 1) / threadsCount;
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for(int start = 0; start < classNames.size(); start += sliceSize) {
+      List<String> slice = classNames.subList(start, Math.min(start + sliceSize, classNames.size()));
+      futures.add(CompletableFuture.runAsync(() -> {
+        for(String className : slice) {
+          try {
+            Class.forName(className, false, loader);
+            loadedCount.incrementAndGet();
+          }
+          catch(ClassNotFoundException | LinkageError ignored) {
+            // stale class list entry or class not visible from loader
+          }
+        }
+      }, executor));
+    }
+
+    CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    all.whenComplete((result, exception) -> executor.shutdown());
+    return all.thenApply(result -> loadedCount.get());
+  }
+
+  /**
+   * Read class names from class list file. Empty lines, comments and JDK specific directives, e.g.
+   * <code>@lambda-proxy</code>, are skipped; class names are converted to binary form.
+   * 
+   * @param classList class list file.
+   * @return class names, in listed order.
+   * @throws IOException if class list reading fails.
+   */
+  static List<String> read(Path classList) throws IOException
+  {
+    List<String> classNames = new ArrayList<>();
+    for(String line : Files.readAllLines(classList, StandardCharsets.UTF_8)) {
+      line = line.trim();
+      if(line.isEmpty() || line.startsWith("#") || line.startsWith("@")) {
+        continue;
+      }
+      // -XX:DumpLoadedClassList may append class id and super class id
+      int separatorIndex = line.indexOf(' ');
+      if(separatorIndex > 0) {
+        line = line.substring(0, separatorIndex);
+      }
+      classNames.add(line.replace('/', '.'));
+    }
+    return classNames;
+  }
+}
@@ -1,6 +1,8 @@
 package com.jslib.api.container;
 
+import java.time.Duration;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Facade API for application embedded containers. An embedded container should be able to create instances with
@@ -19,14 +21,59 @@ public interface EmbeddedContainer extends AutoCloseable
   /**
    * Discover application container provider and execute {@link EmbeddedContainerProvider#createAppContainer(Object...)}.
    * Arguments are passed as they are to provider factory method.
+   * <p>
+   * If <code>js.container.classList</code> system property is present, classes are preloaded in parallel from class
+   * list or class list is recorded on first run, see {@link ClassPreloader}.
    * 
    * @param arguments variable number of arguments.
    * @return application container instance, fully initialized.
    */
   static EmbeddedContainer create(Object... arguments)
   {
+    return provider().createAppContainer(arguments);
+  }
+
+  /**
+   * Asynchronous variant of {@link #create(Object...)}. Discover application container provider and execute
+   * {@link EmbeddedContainerProvider#createAppContainerAsync(Object...)}, returning immediately. Caller can overlap
+   * container startup with its own initialization and join returned future when application container is actually
+   * needed.
+   * 
+   * <pre>
+   * CompletableFuture&lt;EmbeddedContainer&gt; future = EmbeddedContainer.createAsync();
+   * // load configuration, open sockets...
+   * EmbeddedContainer container = future.join();
+   * </pre>
+   * 
+   * If there is no provider deployed on runtime returned future is completed exceptionally with
+   * {@link EmbeddedContainerNotFoundException}.
+   * 
+   * @param arguments variable number of arguments.
+   * @return future completed with application container instance, fully initialized.
+   */
+  static CompletableFuture<EmbeddedContainer> createAsync(Object... arguments)
+  {
+    EmbeddedContainerProvider provider;
+    try {
+      provider = provider();
+    }
+    catch(EmbeddedContainerNotFoundException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return provider.createAppContainerAsync(arguments);
+  }
+
+  /**
+   * Bootstrap class preloader and load first application container provider deployed on runtime.
+   * 
+   * @return application container provider.
+   * @throws EmbeddedContainerNotFoundException if there is no provider deployed on runtime.
+   */
+  private static EmbeddedContainerProvider provider()
+  {
+    ClassPreloader.bootstrap();
     for(EmbeddedContainerProvider provider : ServiceLoader.load(EmbeddedContainerProvider.class)) {
-      return provider.createAppContainer(arguments);
+      return provider;
     }
     throw new EmbeddedContainerNotFoundException();
   }
@@ -39,4 +86,105 @@ public interface EmbeddedContainer extends AutoCloseable
    */
   <T> T getInstance(Class<T> interfaceClass);
 
+  /**
+   * Get handle for instances of requested interface class. Providers overriding this method perform instance lookup
+   * once and every {@link InstanceHandle#get()} call skips it; callers retrieving instances on hot paths should cache
+   * returned handle.
+   * 
+   * Default implementation does not skip lookup: returned handle delegates every {@link InstanceHandle#get()} call to
+   * {@link #getInstance(Class)}, since container scopes are not known at this level and caching the instance would
+   * break non-singleton scopes. Providers are expected to override and return a handle bound to resolved instance
+   * provider.
+   * 
+   * @param interfaceClass interface class.
+   * @return instance handle.
+   * @param <T> instance type.
+   */
+  default <T> InstanceHandle<T> getInstanceHandle(Class<T> interfaceClass)
+  {
+    return new InstanceHandle<T>()
+    {
+      @Override
+      public Class<T> type()
+      {
+        return interfaceClass;
+      }
+
+      @Override
+      public T get()
+      {
+        return getInstance(interfaceClass);
+      }
+    };
+  }
+
+  /**
+   * Bulk variant of {@link #getInstance(Class)}, convenient to resolve all dependencies of a component at once.
+   * Returned array has the same order as requested interface classes.
+   * 
+   * @param interfaceClasses variable number of interface classes.
+   * @return instances array, in requested order.
+   */
+  default Object[] getInstances(Class<?>... interfaceClasses)
+  {
+    Object[] instances = new Object[interfaceClasses.length];
+    for(int i = 0; i < interfaceClasses.length; ++i) {
+      instances[i] = getInstanceHandle(interfaceClasses[i]).get();
+    }
+    return instances;
+  }
+
+  /**
+   * Get structured report about this container startup, with timing and footprint per startup phase. Providers are
+   * expected to build the report using {@link StartupRecorder}. Default implementation returns null.
+   * 
+   * @return container startup report or null if provider does not record startup.
+   */
+  default StartupReport getStartupReport()
+  {
+    return null;
+  }
+
+  /**
+   * Create a lightweight child container, e.g. one per tenant, sharing this container immutable state. Parent container
+   * is frozen once fully initialized so that child containers can safely share reflection metadata, bindings graph,
+   * generated proxy classes and singleton-safe services. A child container keeps separate only its own scoped
+   * instances and resource managers, configured from given arguments; as a result child container footprint is a
+   * small fraction of a standalone container.
+   * 
+   * Instances not found on child container are resolved from parent. Closing a child container releases only child
+   * resources whereas closing parent container while children are still opened has undefined behavior.
+   * 
+   * Default implementation uses given arguments as child instances: an instance request is served by the first
+   * argument assignable to requested interface class and, if none, by this container. Closing default child container
+   * closes its closeable arguments, in reverse order. Providers are expected to override and configure child scopes
+   * from arguments.
+   * 
+   * <pre>
+   * EmbeddedContainer tenant = container.createChildContainer(tenantConfig, tenantDataSource);
+   * </pre>
+   * 
+   * @param arguments variable number of child specific arguments, e.g. tenant configuration.
+   * @return child container instance, fully initialized.
+   */
+  default EmbeddedContainer createChildContainer(Object... arguments)
+  {
+    return new ChildContainer(this, arguments);
+  }
+
+  /**
+   * Close this container waiting no longer than requested deadline. Providers are expected to release independent
+   * resources in parallel, in reverse dependency order, using {@link ShutdownSequence}, and to abort components still
+   * closing when deadline is reached. Returned report lists components that exceeded their time budget.
+   * 
+   * Default implementation executes {@link #close()} as a single component bounded by given deadline.
+   * 
+   * @param deadline overall time limit for container close.
+   * @return shutdown report.
+   */
+  default ShutdownReport close(Duration deadline)
+  {
+    return new ShutdownSequence().add("container", this).execute(deadline);
+  }
+
 }
@@ -3,4 +3,19 @@ package com.jslib.api.container;
 public class EmbeddedContainerException extends RuntimeException
 {
   private static final long serialVersionUID = -7978119622327180731L;
+
+  public EmbeddedContainerException()
+  {
+    super();
+  }
+
+  public EmbeddedContainerException(String message, Object... arguments)
+  {
+    super(String.format(message, arguments));
+  }
+
+  public EmbeddedContainerException(Throwable cause)
+  {
+    super(cause);
+  }
 }
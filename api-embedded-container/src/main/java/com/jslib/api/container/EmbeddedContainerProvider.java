@@ -1,8 +1,26 @@
 package com.jslib.api.container;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface EmbeddedContainerProvider
 {
 
   EmbeddedContainer createAppContainer(Object... arguments);
 
+  /**
+   * Create application container without blocking the caller thread. Returned future is completed with application
+   * container fully initialized or exceptionally if container creation fails.
+   * 
+   * Default implementation just runs {@link #createAppContainer(Object...)} on common pool. Implementations are
+   * encouraged to override and initialize independent modules and resource managers in parallel, joining them before
+   * completing returned future.
+   * 
+   * @param arguments variable number of arguments, as for {@link #createAppContainer(Object...)}.
+   * @return future completed with application container instance, fully initialized.
+   */
+  default CompletableFuture<EmbeddedContainer> createAppContainerAsync(Object... arguments)
+  {
+    return CompletableFuture.supplyAsync(() -> createAppContainer(arguments));
+  }
+
 }
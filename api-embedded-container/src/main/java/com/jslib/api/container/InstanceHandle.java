@@ -0,0 +1,29 @@
+package com.jslib.api.container;
+
+/**
+ * Handle for instances of a given interface class, obtained from {@link EmbeddedContainer#getInstanceHandle(Class)}.
+ * Containers supporting handles perform instance lookup once, when handle is created, so that {@link #get()} is just a
+ * call to the resolved provider; default container handle falls back to instance lookup on every call. Depending on
+ * interface class scope, {@link #get()} returns the same instance or a new one on every call.
+ * 
+ * Instance handle is thread safe and designed to be cached by caller and reused for container life span.
+ * 
+ * @author Iulian Rotaru
+ * @param <T> instance type.
+ */
+public interface InstanceHandle<T>
+{
+  /**
+   * Get interface class this handle was resolved for.
+   * 
+   * @return interface class.
+   */
+  Class<T> type();
+
+  /**
+   * Get instance, newly created or reused from scope.
+   * 
+   * @return instance, never null.
+   */
+  T get();
+}
@@ -0,0 +1,162 @@
+package com.jslib.api.container;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a bounded container shutdown, see {@link ShutdownSequence} and {@link EmbeddedContainer#close(Duration)}.
+ * Report lists every component with its final state and close duration. Shutdown report is immutable.
+ * 
+ * @author Iulian Rotaru
+ */
+public class ShutdownReport
+{
+  private final List<Component> components;
+  private final long duration;
+  private final Duration deadline;
+
+  ShutdownReport(List<Component> components, long duration, Duration deadline)
+  {
+    this.components = Collections.unmodifiableList(components);
+    this.duration = duration;
+    this.deadline = deadline;
+  }
+
+  /** Get all components, in registration order. */
+  public List<Component> getComponents()
+  {
+    return components;
+  }
+
+  /** Get overall shutdown duration, in nanoseconds. */
+  public long getDuration()
+  {
+    return duration;
+  }
+
+  /** Get overall deadline requested for shutdown. */
+  public Duration getDeadline()
+  {
+    return deadline;
+  }
+
+  /**
+   * Test if all components were closed successfully inside overall deadline. Components exceeding their own budget do
+   * not affect this predicate.
+   * 
+   * @return true if all components were closed successfully.
+   */
+  public boolean isComplete()
+  {
+    for(Component component : components) {
+      if(component.state != State.CLOSED) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get components that exceeded their time budget, including components aborted because overall deadline was reached.
+   * 
+   * @return components exceeding budget, possible empty.
+   */
+  public List<Component> getOverruns()
+  {
+    List<Component> overruns = new ArrayList<>();
+    for(Component component : components) {
+      if(component.isOverrun()) {
+        overruns.add(component);
+      }
+    }
+    return overruns;
+  }
+
+  @Override
+  public String toString()
+  {
+    StringBuilder builder = new StringBuilder();
+    builder.append("Container shutdown: ").append(TimeUnit.NANOSECONDS.toMillis(duration)).append(" ms");
+    for(Component component : components) {
+      builder.append(System.lineSeparator()).append("  ").append(component);
+    }
+    return builder.toString();
+  }
+
+  /** Component final state. */
+  public enum State
+  {
+    /** Component closed successfully. */
+    CLOSED,
+    /** Component close failed with exception. */
+    FAILED,
+    /** Overall deadline reached while component was closing or waiting to close. */
+    ABORTED
+  }
+
+  /**
+   * Shutdown outcome for a single component.
+   * 
+   * @author Iulian Rotaru
+   */
+  public static class Component
+  {
+    private final String name;
+    private final State state;
+    private final long duration;
+    private final Duration budget;
+    private final Exception exception;
+
+    Component(String name, State state, long duration, Duration budget, Exception exception)
+    {
+      this.name = name;
+      this.state = state;
+      this.duration = duration;
+      this.budget = budget;
+      this.exception = exception;
+    }
+
+    public String getName()
+    {
+      return name;
+    }
+
+    public State getState()
+    {
+      return state;
+    }
+
+    /** Close duration, in nanoseconds; for aborted components, time spent closing till abort, possible zero. */
+    public long getDuration()
+    {
+      return duration;
+    }
+
+    /** Component time budget or null if component has no budget. */
+    public Duration getBudget()
+    {
+      return budget;
+    }
+
+    /** Exception thrown by component close or null. */
+    public Exception getException()
+    {
+      return exception;
+    }
+
+    /** Test if component was aborted or exceeded its time budget. */
+    public boolean isOverrun()
+    {
+      return state == State.ABORTED || (budget != null && duration > budget.toNanos());
+    }
+
+    @Override
+    public String toString()
+    {
+      return String.format("%s: %s, %d ms%s", name, state, TimeUnit.NANOSECONDS.toMillis(duration), isOverrun() ? " (overrun)" : "");
+    }
+  }
+}
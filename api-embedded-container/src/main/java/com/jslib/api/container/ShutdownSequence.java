@@ -0,0 +1,248 @@
+package com.jslib.api.container;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded, parallel release of container components. Provider registers closeable components together with the
+ * components they depend on and executes the sequence from {@link EmbeddedContainer#close(Duration)}. A component is
+ * closed only after all components depending on it were closed, that is, in reverse dependency order; independent
+ * components are closed in parallel.
+ * 
+ * <pre>
+ * ShutdownSequence sequence = new ShutdownSequence();
+ * sequence.add("transactions", transactionManager::destroy, "pool");
+ * sequence.add("pool", pool, Duration.ofSeconds(2));
+ * sequence.add("scheduler", scheduler);
+ * ShutdownReport report = sequence.execute(Duration.ofSeconds(5));
+ * </pre>
+ * 
+ * In above sample, transaction manager and scheduler are closed in parallel whereas pool is closed after transaction
+ * manager. If overall deadline is exceeded, components still closing are interrupted and components not yet started
+ * are abandoned; both are reported as aborted. Every component may have its own budget; components exceeding it are
+ * reported but not aborted, see {@link ShutdownReport#getOverruns()}.
+ * 
+ * A shutdown sequence is not thread safe and is designed to be executed only once.
+ * 
+ * @author Iulian Rotaru
+ */
+public class ShutdownSequence
+{
+  private final Map<String, Component> components = new LinkedHashMap<>();
+
+  /**
+   * Add named component without individual time budget. See {@link #add(String, AutoCloseable, Duration, String...)}.
+   * 
+   * @param name component name, unique in this sequence,
+   * @param resource closeable resource,
+   * @param dependencies optional names of components used by this one.
+   * @return this pointer.
+   * @throws IllegalArgumentException if component name is already registered.
+   */
+  public ShutdownSequence add(String name, AutoCloseable resource, String... dependencies)
+  {
+    return add(name, resource, null, dependencies);
+  }
+
+  /**
+   * Add named component with individual time budget. Dependencies are the names of components used by this one, that
+   * should be closed after this one; they can be added later but must exist when sequence is executed.
+   * 
+   * @param name component name, unique in this sequence,
+   * @param resource closeable resource,
+   * @param budget optional component time budget, null if not used,
+   * @param dependencies optional names of components used by this one.
+   * @return this pointer.
+   * @throws IllegalArgumentException if component name is already registered.
+   */
+  public ShutdownSequence add(String name, AutoCloseable resource, Duration budget, String... dependencies)
+  {
+    if(components.containsKey(name)) {
+      throw new IllegalArgumentException("Duplicated shutdown component: " + name);
+    }
+    components.put(name, new Component(name, resource, budget, dependencies));
+    return this;
+  }
+
+  /**
+   * Close all components in reverse dependency order, in parallel where possible, waiting no longer than given
+   * deadline. Exceptions thrown by components are recorded into report and do not prevent closing of their
+   * dependencies.
+   * 
+   * @param deadline overall time limit.
+   * @return shutdown report.
+   * @throws IllegalStateException if a dependency is not registered or dependencies are circular.
+   */
+  public ShutdownReport execute(Duration deadline)
+  {
+    Map<String, List<Component>> dependents = dependents();
+
+    AtomicInteger threadIndex = new AtomicInteger();
+    ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "shutdown-" + threadIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    long startTimestamp = System.nanoTime();
+    Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+    for(Component component : components.values()) {
+      future(component, dependents, futures, executor);
+    }
+
+    try {
+      CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+    }
+    catch(TimeoutException e) {
+      // forced abort: interrupt components still closing; not started components are abandoned
+      for(Component component : components.values()) {
+        component.abort();
+      }
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    catch(ExecutionException e) {
+      // component futures never complete exceptionally since component close records any throwable
+      throw new IllegalStateException(e);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    List<ShutdownReport.Component> reports = new ArrayList<>();
+    for(Component component : components.values()) {
+      reports.add(component.report());
+    }
+    return new ShutdownReport(reports, System.nanoTime() - startTimestamp, deadline);
+  }
+
+  private Map<String, List<Component>> dependents()
+  {
+    Map<String, List<Component>> dependents = new HashMap<>();
+    for(Component component : components.values()) {
+      dependents.put(component.name, new ArrayList<>());
+    }
+    for(Component component : components.values()) {
+      for(String dependency : component.dependencies) {
+        if(!components.containsKey(dependency)) {
+          throw new IllegalStateException(String.format("Component %s depends on missing component %s.", component.name, dependency));
+        }
+        dependents.get(dependency).add(component);
+      }
+    }
+
+    // Kahn algorithm, used only to detect circular dependencies
+    Map<String, Integer> pending = new HashMap<>();
+    List<Component> ready = new ArrayList<>();
+    for(Component component : components.values()) {
+      pending.put(component.name, dependents.get(component.name).size());
+      if(dependents.get(component.name).isEmpty()) {
+        ready.add(component);
+      }
+    }
+    int visited = 0;
+    while(!ready.isEmpty()) {
+      Component component = ready.remove(ready.size() - 1);
+      ++visited;
+      for(String dependency : component.dependencies) {
+        if(pending.merge(dependency, -1, Integer::sum) == 0) {
+          ready.add(components.get(dependency));
+        }
+      }
+    }
+    if(visited != components.size()) {
+      throw new IllegalStateException("Circular dependencies on shutdown components.");
+    }
+    return dependents;
+  }
+
+  private CompletableFuture<Void> future(Component component, Map<String, List<Component>> dependents, Map<String, CompletableFuture<Void>> futures, ExecutorService executor)
+  {
+    CompletableFuture<Void> future = futures.get(component.name);
+    if(future != null) {
+      return future;
+    }
+    List<CompletableFuture<Void>> precedents = new ArrayList<>();
+    for(Component dependent : dependents.get(component.name)) {
+      precedents.add(future(dependent, dependents, futures, executor));
+    }
+    future = CompletableFuture.allOf(precedents.toArray(new CompletableFuture<?>[0])).thenRunAsync(component::close, executor);
+    futures.put(component.name, future);
+    return future;
+  }
+
+  private enum Status
+  {
+    PENDING, RUNNING, DONE, ABORTED
+  }
+
+  private static class Component
+  {
+    final String name;
+    final AutoCloseable resource;
+    final Duration budget;
+    final String[] dependencies;
+
+    /** Component status transitions are atomic so that a component is either done or aborted, never both. */
+    final AtomicReference<Status> status = new AtomicReference<>(Status.PENDING);
+
+    volatile long startTimestamp;
+    volatile long duration;
+    volatile Exception exception;
+
+    Component(String name, AutoCloseable resource, Duration budget, String[] dependencies)
+    {
+      this.name = name;
+      this.resource = resource;
+      this.budget = budget;
+      this.dependencies = dependencies;
+    }
+
+    void close()
+    {
+      if(!status.compareAndSet(Status.PENDING, Status.RUNNING)) {
+        // component was abandoned by forced abort before being started
+        return;
+      }
+      startTimestamp = System.nanoTime();
+      try {
+        resource.close();
+      }
+      catch(Throwable t) {
+        // errors are recorded too, otherwise they would fail the whole sequence
+        exception = t instanceof Exception ? (Exception)t : new ExecutionException(t);
+      }
+      finally {
+        duration = System.nanoTime() - startTimestamp;
+        status.compareAndSet(Status.RUNNING, Status.DONE);
+      }
+    }
+
+    void abort()
+    {
+      status.updateAndGet(current -> current == Status.DONE ? current : Status.ABORTED);
+    }
+
+    ShutdownReport.Component report()
+    {
+      if(status.get() != Status.DONE) {
+        long startTimestamp = this.startTimestamp;
+        return new ShutdownReport.Component(name, ShutdownReport.State.ABORTED, startTimestamp != 0 ? System.nanoTime() - startTimestamp : 0, budget, null);
+      }
+      return new ShutdownReport.Component(name, exception == null ? ShutdownReport.State.CLOSED : ShutdownReport.State.FAILED, duration, budget, exception);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.jslib.api.container;
+
+/**
+ * Application container startup phases, in the order they are usually executed. A provider is not required to execute
+ * all phases and may run independent phases in parallel.
+ * 
+ * @author Iulian Rotaru
+ */
+public enum StartupPhase
+{
+  /** Discover container provider, modules and managed classes deployed on runtime. */
+  DISCOVERY,
+  /** Execute modules configuration and collect bindings. */
+  MODULES_CONFIGURATION,
+  /** Validate collected bindings and freeze them into an immutable bindings graph. */
+  BINDINGS_FREEZE,
+  /** Create eager managed instances, e.g. application singletons. */
+  EAGER_INSTANTIATION,
+  /** Initialize resource managers, e.g. connection pools and transaction managers. */
+  RESOURCE_MANAGERS_INITIALIZATION
+}
@@ -0,0 +1,30 @@
+package com.jslib.api.container;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted by {@link StartupRecorder} for every measured startup phase. Event duration is the phase
+ * duration; event is recorded only if flight recorder is running and the event is enabled.
+ * 
+ * @author Iulian Rotaru
+ */
+@Name("com.jslib.container.StartupPhase")
+@Label("Container Startup Phase")
+@Category("j(s)-lib")
+@Description("Application container startup phase timing and footprint.")
+class StartupPhaseEvent extends jdk.jfr.Event
+{
+  @Label("Phase")
+  String phase;
+
+  @Label("Loaded Classes")
+  long loadedClasses;
+
+  @Label("Heap Delta")
+  @DataAmount
+  long heapDelta;
+}
@@ -0,0 +1,120 @@
+package com.jslib.api.container;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Helper used by container providers to measure startup phases and build the {@link StartupReport}. Recorder should
+ * be created as early as possible, before provider discovery, since total startup time is measured from recorder
+ * creation. Recorder is thread safe so that independent phases can be measured in parallel.
+ * 
+ * <pre>
+ * StartupRecorder recorder = new StartupRecorder();
+ * try(StartupRecorder.Measure measure = recorder.measure(StartupPhase.MODULES_CONFIGURATION)) {
+ *   // configure modules
+ * }
+ * ...
+ * StartupReport report = recorder.getReport();
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ */
+public class StartupRecorder
+{
+  private final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+  private final long startTimestamp = System.nanoTime();
+  private final Map<StartupPhase, StartupReport.Phase> phases = new EnumMap<>(StartupPhase.class);
+
+  private volatile boolean retainedHeap;
+
+  /**
+   * Collect garbage before sampling heap usage so that reported heap delta approximates retained heap. This option has
+   * significant cost and is designed for benchmarks and continuous integration runs. Default to false.
+   * 
+   * @param retainedHeap retained heap flag.
+   */
+  public void setRetainedHeap(boolean retainedHeap)
+  {
+    this.retainedHeap = retainedHeap;
+  }
+
+  /**
+   * Start measuring a startup phase. Measure is concluded when returned handler is closed. If a phase is measured
+   * multiple times, last measurement wins.
+   * 
+   * @param phase startup phase.
+   * @return phase measure handler.
+   */
+  public Measure measure(StartupPhase phase)
+  {
+    return new Measure(phase);
+  }
+
+  /**
+   * Create startup report with phases measured so far.
+   * 
+   * @return startup report.
+   */
+  public synchronized StartupReport getReport()
+  {
+    return new StartupReport(phases, System.nanoTime() - startTimestamp);
+  }
+
+  private long heapUsed()
+  {
+    if(retainedHeap) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  private synchronized void record(StartupReport.Phase phase)
+  {
+    phases.put(phase.getPhase(), phase);
+  }
+
+  /**
+   * Measure handler for a single startup phase, created by {@link StartupRecorder#measure(StartupPhase)}.
+   * 
+   * @author Iulian Rotaru
+   */
+  public class Measure implements AutoCloseable
+  {
+    private final StartupPhase phase;
+    private final StartupPhaseEvent event;
+    private final long loadedClasses;
+    private final long heapUsed;
+    private final long timestamp;
+
+    private Measure(StartupPhase phase)
+    {
+      this.phase = phase;
+      this.event = new StartupPhaseEvent();
+      this.loadedClasses = classLoading.getTotalLoadedClassCount();
+      this.heapUsed = heapUsed();
+      this.event.begin();
+      this.timestamp = System.nanoTime();
+    }
+
+    @Override
+    public void close()
+    {
+      long duration = System.nanoTime() - timestamp;
+      event.end();
+      StartupReport.Phase report = new StartupReport.Phase(phase, duration, classLoading.getTotalLoadedClassCount() - loadedClasses, heapUsed() - heapUsed);
+      record(report);
+
+      if(event.shouldCommit()) {
+        event.phase = phase.name();
+        event.loadedClasses = report.getLoadedClasses();
+        event.heapDelta = report.getHeapDelta();
+        event.commit();
+      }
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package com.jslib.api.container;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Structured report about application container startup. It is created by a {@link StartupRecorder} and exposed by
+ * container via {@link EmbeddedContainer#getStartupReport()}. Startup report is immutable.
+ * 
+ * For every measured {@link StartupPhase} report holds phase duration, the number of classes loaded while phase was
+ * executing and heap used delta. Class loading counters and heap usage are global to JVM so that values reported for
+ * phases executed in parallel overlap. Heap delta is a retained heap approximation only if recorder was configured to
+ * collect garbage before sampling, see {@link StartupRecorder#setRetainedHeap(boolean)}.
+ * 
+ * Report can be published on JMX, see {@link #register(String)}, so that startup regressions can be monitored from
+ * outside the process. Also, recorder emits a {@link StartupPhaseEvent} for every phase if flight recorder is running.
+ * 
+ * @author Iulian Rotaru
+ */
+public class StartupReport implements StartupReportMXBean
+{
+  private final Map<StartupPhase, Phase> phases;
+  private final long totalDuration;
+
+  StartupReport(Map<StartupPhase, Phase> phases, long totalDuration)
+  {
+    this.phases = Collections.unmodifiableMap(new EnumMap<>(phases));
+    this.totalDuration = totalDuration;
+  }
+
+  /**
+   * Get measured phases in phase declaration order. Phases not executed by provider are not included.
+   * 
+   * @return measured phases, possible empty.
+   */
+  public Collection<Phase> getPhases()
+  {
+    return phases.values();
+  }
+
+  /**
+   * Get measurements for requested startup phase.
+   * 
+   * @param phase startup phase.
+   * @return phase measurements or null if phase was not executed.
+   */
+  public Phase getPhase(StartupPhase phase)
+  {
+    return phases.get(phase);
+  }
+
+  /**
+   * Get total startup time, in nanoseconds, measured from recorder creation till report is created.
+   * 
+   * @return total startup time, in nanoseconds.
+   */
+  public long getTotalNanos()
+  {
+    return totalDuration;
+  }
+
+  @Override
+  public long getTotalDuration()
+  {
+    return TimeUnit.NANOSECONDS.toMillis(totalDuration);
+  }
+
+  @Override
+  public Map<String, Long> getPhaseDurations()
+  {
+    return map(phase -> TimeUnit.NANOSECONDS.toMillis(phase.duration));
+  }
+
+  @Override
+  public Map<String, Long> getPhaseLoadedClasses()
+  {
+    return map(phase -> phase.loadedClasses);
+  }
+
+  @Override
+  public Map<String, Long> getPhaseHeapDeltas()
+  {
+    return map(phase -> phase.heapDelta);
+  }
+
+  private Map<String, Long> map(ToLongFunction<Phase> value)
+  {
+    Map<String, Long> map = new LinkedHashMap<>();
+    for(Phase phase : phases.values()) {
+      map.put(phase.phase.name(), value.applyAsLong(phase));
+    }
+    return map;
+  }
+
+  /**
+   * Register this report on platform MBean server under <code>com.jslib.container:type=StartupReport,name=name</code>
+   * object name. If there is already a report registered with the same name it is replaced.
+   * 
+   * @param name container name used to identify the report.
+   * @throws EmbeddedContainerException if registration fails.
+   */
+  public void register(String name)
+  {
+    try {
+      ObjectName objectName = new ObjectName("com.jslib.container:type=StartupReport,name=" + ObjectName.quote(name));
+      if(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName)) {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+      }
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+    }
+    catch(JMException e) {
+      throw new EmbeddedContainerException(e);
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    StringBuilder builder = new StringBuilder();
+    builder.append("Container startup: ").append(getTotalDuration()).append(" ms");
+    for(Phase phase : phases.values()) {
+      builder.append(System.lineSeparator()).append("  ").append(phase);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Measurements for a single startup phase.
+   * 
+   * @author Iulian Rotaru
+   */
+  public static class Phase
+  {
+    private final StartupPhase phase;
+    private final long duration;
+    private final long loadedClasses;
+    private final long heapDelta;
+
+    Phase(StartupPhase phase, long duration, long loadedClasses, long heapDelta)
+    {
+      this.phase = phase;
+      this.duration = duration;
+      this.loadedClasses = loadedClasses;
+      this.heapDelta = heapDelta;
+    }
+
+    public StartupPhase getPhase()
+    {
+      return phase;
+    }
+
+    /** Phase duration, in nanoseconds. */
+    public long getDuration()
+    {
+      return duration;
+    }
+
+    /** Number of classes loaded while phase was executing. */
+    public long getLoadedClasses()
+    {
+      return loadedClasses;
+    }
+
+    /** Heap used delta, in bytes; negative if garbage collector reclaimed more than phase allocated. */
+    public long getHeapDelta()
+    {
+      return heapDelta;
+    }
+
+    @Override
+    public String toString()
+    {
+      return String.format("%s: %d ms, %d classes, %d KB", phase, TimeUnit.NANOSECONDS.toMillis(duration), loadedClasses, heapDelta / 1024);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.jslib.api.container;
+
+import java.util.Map;
+
+/**
+ * Management interface for application container startup report, see {@link StartupReport#register(String)}.
+ * 
+ * @author Iulian Rotaru
+ */
+public interface StartupReportMXBean
+{
+  /** Total startup time, in milliseconds. */
+  long getTotalDuration();
+
+  /** Phase durations, in milliseconds, mapped to phase name. */
+  Map<String, Long> getPhaseDurations();
+
+  /** Number of classes loaded while phase was executing, mapped to phase name. */
+  Map<String, Long> getPhaseLoadedClasses();
+
+  /** Heap used delta, in bytes, mapped to phase name. */
+  Map<String, Long> getPhaseHeapDeltas();
+}
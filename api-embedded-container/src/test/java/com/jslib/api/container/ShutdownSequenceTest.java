@@ -0,0 +1,163 @@
+package com.jslib.api.container;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ShutdownSequenceTest
+{
+  @Test
+  public void GivenDependencies_WhenExecute_ThenCloseDependentsFirst()
+  {
+    List<String> closed = new CopyOnWriteArrayList<>();
+    ShutdownSequence sequence = new ShutdownSequence();
+    sequence.add("transactions", () -> closed.add("transactions"), "pool");
+    sequence.add("cache", () -> closed.add("cache"), "pool");
+    sequence.add("pool", () -> closed.add("pool"));
+
+    ShutdownReport report = sequence.execute(Duration.ofSeconds(5));
+
+    assertTrue(report.isComplete());
+    assertEquals(3, closed.size());
+    assertEquals("pool", closed.get(2));
+    for(ShutdownReport.Component component : report.getComponents()) {
+      assertEquals(ShutdownReport.State.CLOSED, component.getState());
+    }
+  }
+
+  @Test
+  public void GivenIndependentComponents_WhenExecute_ThenCloseInParallel()
+  {
+    CountDownLatch latch = new CountDownLatch(2);
+    AutoCloseable component = () -> {
+      latch.countDown();
+      // completes only if the other component is closed concurrently
+      if(!latch.await(2, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("Not closed in parallel.");
+      }
+    };
+    ShutdownSequence sequence = new ShutdownSequence();
+    sequence.add("first", component);
+    sequence.add("second", component);
+
+    ShutdownReport report = sequence.execute(Duration.ofSeconds(5));
+
+    assertTrue(report.isComplete());
+  }
+
+  @Test
+  public void GivenCircularDependencies_WhenExecute_ThenIllegalState()
+  {
+    ShutdownSequence sequence = new ShutdownSequence();
+    sequence.add("first", () -> {}, "second");
+    sequence.add("second", () -> {}, "first");
+
+    assertThrows(IllegalStateException.class, () -> sequence.execute(Duration.ofSeconds(1)));
+  }
+
+  @Test
+  public void GivenMissingDependency_WhenExecute_ThenIllegalState()
+  {
+    ShutdownSequence sequence = new ShutdownSequence();
+    sequence.add("first", () -> {}, "missing");
+
+    assertThrows(IllegalStateException.class, () -> sequence.execute(Duration.ofSeconds(1)));
+  }
+
+  @Test
+  public void GivenDuplicatedName_WhenAdd_ThenIllegalArgument()
+  {
+    ShutdownSequence sequence = new ShutdownSequence();
+    sequence.add("first", () -> {});
+
+    assertThrows(IllegalArgumentException.class, () -> sequence.add("first", () -> {}));
+  }
+
+  @Test
+  public void GivenFailingComponent_WhenExecute_ThenReportFailedAndCloseDependencies()
+  {
+    Map<String, Boolean> closed = new ConcurrentHashMap<>();
+    ShutdownSequence sequence = new ShutdownSequence();
+    sequence.add("transactions", () -> {
+      throw new IllegalStateException("fail");
+    }, "pool");
+    sequence.add("pool", () -> closed.put("pool", true));
+
+    ShutdownReport report = sequence.execute(Duration.ofSeconds(5));
+
+    assertTrue(closed.containsKey("pool"));
+    assertEquals(ShutdownReport.State.FAILED, state(report, "transactions"));
+    assertEquals(ShutdownReport.State.CLOSED, state(report, "pool"));
+  }
+
+  @Test
+  public void GivenBlockedComponent_WhenDeadlineExceeded_ThenAbortRunningAndPending()
+  {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    ShutdownSequence sequence = new ShutdownSequence();
+    sequence.add("fast", () -> {});
+    sequence.add("blocked", () -> {
+      try {
+        Thread.sleep(10000);
+      }
+      catch(InterruptedException e) {
+        interrupted.countDown();
+      }
+    }, "pool");
+    sequence.add("pool", () -> {});
+
+    ShutdownReport report = sequence.execute(Duration.ofMillis(200));
+
+    assertFalse(report.isComplete());
+    assertEquals(ShutdownReport.State.CLOSED, state(report, "fast"));
+    assertEquals(ShutdownReport.State.ABORTED, state(report, "blocked"));
+    assertEquals(ShutdownReport.State.ABORTED, state(report, "pool"));
+    assertTrue(await(interrupted));
+  }
+
+  @Test
+  public void GivenComponentBudget_WhenExceeded_ThenReportOverrun()
+  {
+    ShutdownSequence sequence = new ShutdownSequence();
+    sequence.add("slow", () -> Thread.sleep(50), Duration.ofMillis(1));
+    sequence.add("fast", () -> {}, Duration.ofSeconds(5));
+
+    ShutdownReport report = sequence.execute(Duration.ofSeconds(5));
+
+    assertTrue(report.isComplete());
+    assertEquals(1, report.getOverruns().size());
+    assertEquals("slow", report.getOverruns().get(0).getName());
+  }
+
+  private static ShutdownReport.State state(ShutdownReport report, String name)
+  {
+    for(ShutdownReport.Component component : report.getComponents()) {
+      if(component.getName().equals(name)) {
+        return component.getState();
+      }
+    }
+    throw new IllegalArgumentException(name);
+  }
+
+  private static boolean await(CountDownLatch latch)
+  {
+    try {
+      return latch.await(2, TimeUnit.SECONDS);
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.jslib.api.injector;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.inject.Provider;
+
+/**
+ * Default child injector returned by {@link IInjector#createChildInjector(IModule...)}. Child keeps only the bindings
+ * declared by child modules; binding builders are created by parent injector so that child providers reuse parent
+ * instance metadata and resolve their dependencies through parent bindings graph. Instance keys without child binding
+ * are provisioned by parent injector; provisioning failures of child bindings are not masked by parent.
+ *
+ * Provisioning listeners and scope factories bound on child injector are child specific; scope factories not found on
+ * child are looked up on parent. Child injector is configured at creation and attempt to configure it again throws
+ * illegal state.
+ *
+ * @author Iulian Rotaru
+ */
+class ChildInjector implements IInjector
+{
+  private final IInjector parent;
+  private final Map<Key<?>, Provider<?>> bindings = new ConcurrentHashMap<>();
+  private final List<IProvisionListener> listeners = new CopyOnWriteArrayList<>();
+  private final Map<Class<? extends Annotation>, IScopeFactory<?>> scopeFactories = new ConcurrentHashMap<>();
+
+  private volatile boolean configured;
+
+  ChildInjector(IInjector parent)
+  {
+    this.parent = parent;
+  }
+
+  @Override
+  public IInjector configure(IModule... modules)
+  {
+    if(configured) {
+      throw new IllegalStateException("Child injector already configured.");
+    }
+    configured = true;
+    for(IModule module : modules) {
+      module.configure(this);
+      for(IBinding<?> binding : module.bindings()) {
+        bindings.put(binding.key(), binding.provider());
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public <T> IBindingBuilder<T> getBindingBuilder(Class<T> type)
+  {
+    return parent.getBindingBuilder(type);
+  }
+
+  @Override
+  public <T> IBindingBuilder<T> getBindingBuilder(Class<T> type, T instance)
+  {
+    return parent.getBindingBuilder(type, instance);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T getInstance(Key<T> key)
+  {
+    Provider<T> provider = (Provider<T>)bindings.get(key);
+    if(provider == null) {
+      return parent.getInstance(key);
+    }
+    T instance = provider.get();
+    fireEvent(IProvisionInvocation.create(provider, instance));
+    return instance;
+  }
+
+  @Override
+  public <T> T getInstance(Class<T> type)
+  {
+    return getInstance(Key.get(type));
+  }
+
+  @Override
+  public <T> T getInstance(Class<T> type, String name)
+  {
+    return getInstance(Key.get(type, Names.named(name)));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> Provider<T> getProvider(Class<T> type)
+  {
+    Provider<T> provider = (Provider<T>)bindings.get(Key.get(type));
+    return provider != null ? provider : parent.getProvider(type);
+  }
+
+  @Override
+  public void bindListener(IProvisionListener provisionListener)
+  {
+    listeners.add(provisionListener);
+  }
+
+  @Override
+  public void unbindListener(IProvisionListener provisionListener)
+  {
+    listeners.remove(provisionListener);
+  }
+
+  @Override
+  public <T> void fireEvent(IProvisionInvocation<T> provisionInvocation)
+  {
+    for(IProvisionListener listener : listeners) {
+      listener.onProvision(provisionInvocation);
+    }
+  }
+
+  @Override
+  public <T> void bindScopeFactory(Class<? extends Annotation> scope, IScopeFactory<T> scopeFactory)
+  {
+    scopeFactories.put(scope, scopeFactory);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> IScopeFactory<T> getScopeFactory(Class<? extends Annotation> scope)
+  {
+    IScopeFactory<T> scopeFactory = (IScopeFactory<T>)scopeFactories.get(scope);
+    return scopeFactory != null ? scopeFactory : parent.getScopeFactory(scope);
+  }
+}
@@ -35,6 +35,24 @@ public interface IInjector
    */
   IInjector configure(IModule... modules);
 
+  /**
+   * Create a child injector that shares this injector bindings and adds the bindings from given modules. Since this
+   * injector is immutable once configured, child injectors can share its bindings graph, instance metadata and scoped
+   * providers without copying them; only bindings declared by child modules and instances from child scopes are
+   * specific to child injector. Bindings declared by child modules take precedence over inherited bindings.
+   * 
+   * Default implementation keeps on child injector only the bindings declared by child modules, built by this injector
+   * binding builders; their dependencies and instance keys without child binding are resolved by this injector.
+   * Implementations are expected to override if inherited bindings should see child bindings.
+   * 
+   * @param modules variable number of child specific modules.
+   * @return child injector, configured.
+   */
+  default IInjector createChildInjector(IModule... modules)
+  {
+    return new ChildInjector(this).configure(modules);
+  }
+
   <T> IBindingBuilder<T> getBindingBuilder(Class<T> type);
 
   <T> IBindingBuilder<T> getBindingBuilder(Class<T> type, T instance);
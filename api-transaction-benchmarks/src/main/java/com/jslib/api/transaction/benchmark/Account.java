@@ -0,0 +1,37 @@
+package com.jslib.api.transaction.benchmark;
+
+import com.jslib.api.transaction.Immutable;
+import com.jslib.api.transaction.Mutable;
+import com.jslib.api.transaction.Transactional;
+
+/**
+ * Trivial transactional service used to measure proxy invocation overhead; methods do no resource work.
+ * 
+ * @author Iulian Rotaru
+ */
+public interface Account
+{
+  long getBalance();
+
+  void deposit(long amount);
+
+  @Transactional
+  @Immutable
+  class Implementation implements Account
+  {
+    private volatile long balance;
+
+    @Override
+    public long getBalance()
+    {
+      return balance;
+    }
+
+    @Override
+    @Mutable
+    public void deposit(long amount)
+    {
+      balance += amount;
+    }
+  }
+}
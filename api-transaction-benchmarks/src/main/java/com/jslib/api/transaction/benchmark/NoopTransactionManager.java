@@ -0,0 +1,139 @@
+package com.jslib.api.transaction.benchmark;
+
+import com.jslib.api.transaction.Transaction;
+import com.jslib.api.transaction.TransactionContext;
+import com.jslib.api.transaction.TransactionException;
+import com.jslib.api.transaction.TransactionManager;
+import com.jslib.api.transaction.WorkingUnit;
+
+/**
+ * Transaction manager over a no-op resource manager. It does the bookkeeping required by transaction API contract -
+ * per thread nested transactions tracking and read-only checks - but no resource work, so that benchmarks measure
+ * transaction layer own overhead, separated from database cost.
+ * 
+ * @author Iulian Rotaru
+ */
+public class NoopTransactionManager implements TransactionManager, TransactionContext
+{
+  /** No-op resource manager passed to working units. */
+  public static final Object RESOURCE_MANAGER = new Object();
+
+  private final ThreadLocal<NoopTransaction> current = new ThreadLocal<>();
+
+  @Override
+  public Transaction createTransaction(String schema)
+  {
+    return createTransaction(false);
+  }
+
+  @Override
+  public Transaction createReadOnlyTransaction(String schema)
+  {
+    return createTransaction(true);
+  }
+
+  private Transaction createTransaction(boolean readOnly)
+  {
+    NoopTransaction transaction = current.get();
+    if(transaction != null) {
+      ++transaction.nestingLevel;
+      return transaction;
+    }
+    transaction = new NoopTransaction(readOnly);
+    current.set(transaction);
+    return transaction;
+  }
+
+  @Override
+  public <R, T> T exec(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Transaction transaction = createTransaction(schema);
+    try {
+      T value = workingUnit.exec(transaction.getResourceManager(), args);
+      transaction.commit();
+      return value;
+    }
+    catch(Exception e) {
+      transaction.rollback();
+      throw e instanceof TransactionException ? (TransactionException)e : new TransactionException(e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Override
+  public <R, T> T exec(WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return exec(null, workingUnit, args);
+  }
+
+  @Override
+  public Transaction getCurrentTransaction(String schema)
+  {
+    return current.get();
+  }
+
+  @Override
+  public Transaction getTransaction()
+  {
+    return current.get();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <R> R getResourceManager()
+  {
+    return (R)RESOURCE_MANAGER;
+  }
+
+  @Override
+  public void destroy()
+  {
+  }
+
+  private class NoopTransaction implements Transaction
+  {
+    private final boolean readOnly;
+    private int nestingLevel;
+
+    NoopTransaction(boolean readOnly)
+    {
+      this.readOnly = readOnly;
+    }
+
+    @Override
+    public void commit()
+    {
+      if(readOnly) {
+        throw new IllegalStateException("Attempt to commit read-only transaction.");
+      }
+    }
+
+    @Override
+    public void rollback()
+    {
+      if(readOnly) {
+        throw new IllegalStateException("Attempt to rollback read-only transaction.");
+      }
+    }
+
+    @Override
+    public boolean close()
+    {
+      if(nestingLevel > 0) {
+        --nestingLevel;
+        return false;
+      }
+      current.remove();
+      return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R getResourceManager()
+    {
+      return (R)RESOURCE_MANAGER;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.jslib.api.transaction.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.jslib.api.transaction.TransactionAttributes;
+import com.jslib.api.transaction.TransactionException;
+import com.jslib.api.transaction.TransactionFactory;
+import com.jslib.api.transaction.TransactionManager;
+import com.jslib.api.transaction.WorkingUnit;
+import com.jslib.api.transaction.WriteBehindBuffer;
+
+/**
+ * Minimal transaction factory based on Java reflective proxies and {@link TransactionAttributes}. Transactional
+ * methods are executed by transaction manager, read-only methods with
+ * {@link TransactionManager#execReadOnly(String, WorkingUnit, Object...)}. Write-behind methods invoked from an
+ * enclosing transactional method are recorded on {@link WriteBehindBuffer}. It is the simplest factory a transaction
+ * API implementation may supply and is used as baseline for proxy invocation overhead.
+ * 
+ * @author Iulian Rotaru
+ */
+public class ProxyTransactionFactory implements TransactionFactory
+{
+  private final TransactionManager manager;
+
+  public ProxyTransactionFactory(TransactionManager manager)
+  {
+    this.manager = manager;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <I> I newInstance(Class<? extends I> implementationClass, Object... args)
+  {
+    Object instance = instance(implementationClass, args);
+    InvocationHandler handler = new Handler(manager, implementationClass, instance);
+    return (I)Proxy.newProxyInstance(implementationClass.getClassLoader(), implementationClass.getInterfaces(), handler);
+  }
+
+  private static Object instance(Class<?> implementationClass, Object... args)
+  {
+    try {
+      for(Constructor<?> constructor : implementationClass.getDeclaredConstructors()) {
+        if(constructor.getParameterCount() == args.length) {
+          constructor.setAccessible(true);
+          return constructor.newInstance(args);
+        }
+      }
+    }
+    catch(ReflectiveOperationException e) {
+      throw new TransactionException(e);
+    }
+    throw new TransactionException("Missing constructor with %d parameters on class |%s|.", args.length, implementationClass);
+  }
+
+  private static class Handler implements InvocationHandler
+  {
+    private final TransactionManager manager;
+    private final Class<?> implementationClass;
+    private final Object instance;
+
+    Handler(TransactionManager manager, Class<?> implementationClass, Object instance)
+    {
+      this.manager = manager;
+      this.implementationClass = implementationClass;
+      this.instance = instance;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+      TransactionAttributes attributes = TransactionAttributes.get(implementationClass, method);
+      if(!attributes.isTransactional()) {
+        return invoke(method, args);
+      }
+
+      WriteBehindBuffer buffer = WriteBehindBuffer.open();
+      try {
+        if(attributes.isWriteBehind() && !buffer.isOutermost()) {
+          buffer.record(attributes.getSchema(), instance, method, attributes.getWriteBehindBatch(), args);
+          return null;
+        }
+
+        // writes recorded by caller are flushed while caller transaction is still current
+        buffer.flush(manager);
+        WorkingUnit<Object, Object> workingUnit = (resourceManager, unitArgs) -> {
+          Object value = invoke(method, unitArgs);
+          buffer.flush(manager);
+          return value;
+        };
+        Object[] unitArgs = args != null ? args : new Object[0];
+        if(attributes.isReadOnly()) {
+          return manager.execReadOnly(attributes.getSchema(), workingUnit, unitArgs);
+        }
+        return manager.exec(attributes.getSchema(), workingUnit, unitArgs);
+      }
+      catch(TransactionException e) {
+        throw e.getCause() != null ? e.getCause() : e;
+      }
+      finally {
+        buffer.close();
+      }
+    }
+
+    private Object invoke(Method method, Object[] args) throws Exception
+    {
+      try {
+        return method.invoke(instance, args);
+      }
+      catch(InvocationTargetException e) {
+        Throwable target = e.getTargetException();
+        if(target instanceof Exception) {
+          throw (Exception)target;
+        }
+        throw (Error)target;
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.jslib.api.transaction.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run {@link TransactionBenchmark} with threads count doubled from 1 up to available processors and print throughput
+ * per threads count, that is, transaction layer scaling curve. Optional argument is a regular expression selecting
+ * benchmark methods, e.g. <code>proxy.*</code>.
+ * 
+ * <pre>
+ * java -cp target/benchmarks.jar com.jslib.api.transaction.benchmark.ScalingMain exec
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ */
+public class ScalingMain
+{
+  public static void main(String... args) throws RunnerException
+  {
+    String include = TransactionBenchmark.class.getSimpleName() + "." + (args.length > 0 ? args[0] : "");
+    int processors = Runtime.getRuntime().availableProcessors();
+
+    List<Integer> threadsCounts = new ArrayList<>();
+    for(int threads = 1; threads < processors; threads *= 2) {
+      threadsCounts.add(threads);
+    }
+    threadsCounts.add(processors);
+
+    StringBuilder report = new StringBuilder();
+    report.append(String.format("%-40s %8s %16s %10s%n", "Benchmark", "Threads", "Score", "Units"));
+    for(int threads : threadsCounts) {
+      Options options = new OptionsBuilder().include(include).threads(threads).build();
+      Collection<RunResult> results = new Runner(options).run();
+      for(RunResult result : results) {
+        String label = result.getParams().getBenchmark().replaceFirst(".*\\.", "") + ":" + result.getParams().getParam("manager");
+        report.append(String.format("%-40s %8d %16.3f %10s%n", label, threads, result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreUnit()));
+      }
+    }
+    System.out.println();
+    System.out.print(report);
+  }
+}
@@ -0,0 +1,133 @@
+package com.jslib.api.transaction.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jslib.api.transaction.LongWorkingUnit;
+import com.jslib.api.transaction.Transaction;
+import com.jslib.api.transaction.TransactionManager;
+import com.jslib.api.transaction.WorkingUnit;
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+/**
+ * Transaction layer own overhead per transaction: explicit transaction boundaries, programmatic execution of trivial
+ * working units, with variable arguments and with arity specialized working units, and invocations through
+ * transactional proxies, each for read-write and read-only transactions. Working units do no resource work so that
+ * measured time is framework cost only.
+ * <p>
+ * Runs on a single thread by default; use JMH <code>-t</code> option for a given threads count or {@link ScalingMain}
+ * for the scaling curve from 1 to available processors.
+ * 
+ * @author Iulian Rotaru
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TransactionBenchmark
+{
+  private static final String SCHEMA = "benchmark";
+  private static final WorkingUnit<Object, Object> TRIVIAL_UNIT = (resourceManager, args) -> resourceManager;
+  private static final LongWorkingUnit<Object, Object> TRIVIAL_LONG_UNIT = (resourceManager, id) -> resourceManager;
+
+  /** Transaction manager implementation: no-op resource manager or in-memory multi-version store. */
+  @Param(
+  {
+      "noop", "memory"
+  })
+  public String manager;
+
+  private TransactionManager transactionManager;
+  private ProxyTransactionFactory factory;
+
+  @Setup(Level.Trial)
+  public void setup()
+  {
+    transactionManager = "memory".equals(manager) ? new MemoryTransactionManager() : new NoopTransactionManager();
+    factory = new ProxyTransactionFactory(transactionManager);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+  {
+    transactionManager.destroy();
+  }
+
+  /** Per thread transactional proxy, so that mutable invocations do not contend on the same instance. */
+  @State(Scope.Thread)
+  public static class Proxy
+  {
+    Account account;
+
+    @Setup(Level.Trial)
+    public void setup(TransactionBenchmark benchmark)
+    {
+      account = benchmark.factory.newInstance(Account.Implementation.class);
+    }
+  }
+
+  @Benchmark
+  public boolean createCommitClose()
+  {
+    Transaction transaction = transactionManager.createTransaction(SCHEMA);
+    transaction.commit();
+    return transaction.close();
+  }
+
+  @Benchmark
+  public boolean createReadOnlyClose()
+  {
+    return transactionManager.createReadOnlyTransaction(SCHEMA).close();
+  }
+
+  @Benchmark
+  public Object exec()
+  {
+    return transactionManager.exec(SCHEMA, TRIVIAL_UNIT);
+  }
+
+  @Benchmark
+  public Object execVarargs()
+  {
+    return transactionManager.exec(SCHEMA, TRIVIAL_UNIT, 1L);
+  }
+
+  @Benchmark
+  public Object execLong()
+  {
+    return transactionManager.exec(SCHEMA, 1L, TRIVIAL_LONG_UNIT);
+  }
+
+  @Benchmark
+  public Object execReadOnly()
+  {
+    return transactionManager.execReadOnly(SCHEMA, TRIVIAL_UNIT);
+  }
+
+  @Benchmark
+  public void proxyMutable(Proxy proxy)
+  {
+    proxy.account.deposit(1);
+  }
+
+  @Benchmark
+  public long proxyImmutable(Proxy proxy)
+  {
+    return proxy.account.getBalance();
+  }
+}
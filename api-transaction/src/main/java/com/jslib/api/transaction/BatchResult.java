@@ -0,0 +1,124 @@
+package com.jslib.api.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per working unit results of a batch execution, see {@link TransactionManager#execBatch(String, List, int, Object...)}.
+ * For every working unit, identified by its index in the batch, result stores the outcome and, depending on outcome,
+ * the returned value or the exception.
+ * 
+ * @author Iulian Rotaru
+ * @param <T> working units returned value type.
+ */
+public class BatchResult<T>
+{
+  /** Working unit outcome. */
+  public enum Outcome
+  {
+    /** Working unit completed and its transaction was committed. */
+    COMMITTED,
+    /** Working unit or its transaction commit failed; exception is recorded. */
+    FAILED,
+    /** Working unit completed but its transaction was rolled back because other working unit failed. */
+    ROLLED_BACK
+  }
+
+  private final Outcome[] outcomes;
+  private final Object[] values;
+  private final Exception[] exceptions;
+
+  BatchResult(int size)
+  {
+    this.outcomes = new Outcome[size];
+    this.values = new Object[size];
+    this.exceptions = new Exception[size];
+  }
+
+  /** Record value returned by working unit; outcome is set later, on transaction commit or rollback. */
+  void setValue(int index, T value)
+  {
+    values[index] = value;
+  }
+
+  /** Mark working units in given range, end exclusive, as committed. */
+  void commit(int start, int end)
+  {
+    for(int i = start; i < end; ++i) {
+      outcomes[i] = Outcome.COMMITTED;
+    }
+  }
+
+  /** Mark working units in given range, end exclusive, as rolled back. Working units already failed are not changed. */
+  void rollback(int start, int end)
+  {
+    for(int i = start; i < end; ++i) {
+      if(outcomes[i] != Outcome.FAILED) {
+        outcomes[i] = Outcome.ROLLED_BACK;
+        values[i] = null;
+      }
+    }
+  }
+
+  /** Mark working units in given range, end exclusive, as failed with given exception. */
+  void fail(int start, int end, Exception exception)
+  {
+    for(int i = start; i < end; ++i) {
+      outcomes[i] = Outcome.FAILED;
+      values[i] = null;
+      exceptions[i] = exception;
+    }
+  }
+
+  /** Get the number of working units from batch. */
+  public int size()
+  {
+    return outcomes.length;
+  }
+
+  /** Get outcome of working unit with given index. */
+  public Outcome getOutcome(int index)
+  {
+    return outcomes[index];
+  }
+
+  /** Get value returned by working unit with given index; null if working unit was not committed. */
+  @SuppressWarnings("unchecked")
+  public T getValue(int index)
+  {
+    return (T)values[index];
+  }
+
+  /** Get exception for failed working unit with given index; null if working unit did not fail. */
+  public Exception getException(int index)
+  {
+    return exceptions[index];
+  }
+
+  /** Test if all working units from batch were committed. */
+  public boolean isSuccess()
+  {
+    for(Outcome outcome : outcomes) {
+      if(outcome != Outcome.COMMITTED) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get indices of working units that were not committed, either failed or rolled back, in batch order.
+   * 
+   * @return indices of not committed working units, possible empty.
+   */
+  public List<Integer> getUncommitted()
+  {
+    List<Integer> indices = new ArrayList<>();
+    for(int i = 0; i < outcomes.length; ++i) {
+      if(outcomes[i] != Outcome.COMMITTED) {
+        indices.add(i);
+      }
+    }
+    return indices;
+  }
+}
@@ -0,0 +1,35 @@
+package com.jslib.api.transaction;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare the data dependency tags of a transactional method, used by {@link SharedCache}. On an {@link Immutable}
+ * method tags denote the data read by method and enable shared caching for its results; immutable methods without
+ * cache tags are not cached across transactions. On a {@link Mutable} method tags denote the data altered by method;
+ * when its transaction commits, all cached results with at least one common tag are invalidated.
+ * 
+ * <pre>
+ *  &#064;Transactional
+ *  class DaoImpl implements Dao {
+ *      &#064;Immutable
+ *      &#064;CacheTags("user")
+ *      public User getUserByLogin(Login login) {
+ *      }
+ * 
+ *      &#064;CacheTags("user")
+ *      public void saveUser(User user) {
+ *      }
+ *  }
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheTags {
+  /** Data dependency tags. */
+  String[] value();
+}
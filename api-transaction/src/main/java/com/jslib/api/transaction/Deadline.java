@@ -0,0 +1,138 @@
+package com.jslib.api.transaction;
+
+import java.time.Duration;
+
+/**
+ * Point in time a transaction should be completed by, measured on {@link System#nanoTime()} monotonic clock. A deadline
+ * is set on transaction creation, see {@link TransactionManager#createTransaction(String, Deadline)}, is passed by
+ * implementation to resource manager as statement timeout and reaches working unit through
+ * {@link TransactionContext#getDeadline()}. Long running working units can check it cooperatively.
+ * 
+ * <pre>
+ * manager.exec(Deadline.after(Duration.ofMillis(200)), "core", (Session session, Object... args) -&gt; {
+ *   for(Person person : persons) {
+ *     context.getDeadline().check();
+ *     ...
+ *   }
+ *   return null;
+ * });
+ * </pre>
+ * 
+ * When deadline is exceeded transaction is rolled back with {@link TransactionTimeoutException}, so that overloaded
+ * resources shed load quickly instead of holding resource managers for slow working units.
+ * <p>
+ * Deadline instance is immutable.
+ * 
+ * @author Iulian Rotaru
+ */
+public final class Deadline implements Comparable<Deadline>
+{
+  /** Timeouts larger than this value are clamped in order to avoid monotonic clock arithmetic overflow. */
+  private static final long MAX_TIMEOUT = Long.MAX_VALUE / 4;
+
+  /**
+   * Create deadline expiring after given timeout from now.
+   * 
+   * @param timeout timeout, not negative.
+   * @return newly created deadline.
+   * @throws IllegalArgumentException if timeout is negative.
+   */
+  public static Deadline after(Duration timeout)
+  {
+    if(timeout.isNegative()) {
+      throw new IllegalArgumentException("Negative timeout.");
+    }
+    long nanos = timeout.compareTo(Duration.ofNanos(MAX_TIMEOUT)) > 0 ? MAX_TIMEOUT : timeout.toNanos();
+    return new Deadline(System.nanoTime() + nanos);
+  }
+
+  /**
+   * Create deadline expiring after given number of milliseconds from now, see {@link Transactional#timeout()}.
+   * 
+   * @param timeout timeout in milliseconds, not negative.
+   * @return newly created deadline.
+   * @throws IllegalArgumentException if timeout is negative.
+   */
+  public static Deadline afterMillis(long timeout)
+  {
+    return after(Duration.ofMillis(timeout));
+  }
+
+  /**
+   * Get the earlier of two deadlines, used when a nested transaction with its own deadline joins an enclosing one.
+   * Null deadline means no deadline.
+   * 
+   * @param deadline first deadline, possible null,
+   * @param other second deadline, possible null.
+   * @return earlier deadline or null if both deadlines are null.
+   */
+  public static Deadline earlier(Deadline deadline, Deadline other)
+  {
+    if(deadline == null) {
+      return other;
+    }
+    if(other == null) {
+      return deadline;
+    }
+    return deadline.compareTo(other) <= 0 ? deadline : other;
+  }
+
+  private final long nanoTime;
+
+  private Deadline(long nanoTime)
+  {
+    this.nanoTime = nanoTime;
+  }
+
+  /** Test if this deadline was exceeded. */
+  public boolean isExpired()
+  {
+    return nanoTime - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Get time remaining till this deadline.
+   * 
+   * @return remaining time, zero if this deadline was exceeded.
+   */
+  public Duration remaining()
+  {
+    return Duration.ofNanos(Math.max(0, nanoTime - System.nanoTime()));
+  }
+
+  /**
+   * Get remaining time as statement timeout in seconds, e.g. for {@link java.sql.Statement#setQueryTimeout(int)}.
+   * Remaining time is rounded up and is at least one second, since zero means no timeout for JDBC.
+   * 
+   * @return statement timeout in seconds, strictly positive.
+   */
+  public int toStatementTimeout()
+  {
+    long seconds = (Math.max(0, nanoTime - System.nanoTime()) + 999_999_999L) / 1_000_000_000L;
+    return (int)Math.min(Integer.MAX_VALUE, Math.max(1, seconds));
+  }
+
+  /**
+   * Cooperative cancellation check, to be invoked by long running working units.
+   * 
+   * @throws TransactionTimeoutException if this deadline was exceeded.
+   */
+  public void check() throws TransactionTimeoutException
+  {
+    if(isExpired()) {
+      throw new TransactionTimeoutException("Transaction deadline exceeded by %d ms.", (System.nanoTime() - nanoTime) / 1_000_000L);
+    }
+  }
+
+  @Override
+  public int compareTo(Deadline other)
+  {
+    return Long.signum(nanoTime - other.nanoTime);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "Deadline[remaining=" + remaining().toMillis() + " ms]";
+  }
+}
@@ -0,0 +1,149 @@
+package com.jslib.api.transaction;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Base class for transaction manager decorators that forwards every method, including interface default methods, to
+ * decorated transaction manager. In this way decorated manager own implementations are not bypassed by decorator and
+ * subclasses override only the methods they actually decorate.
+ * 
+ * @author Iulian Rotaru
+ */
+public abstract class DelegatingTransactionManager implements TransactionManager
+{
+  /** Decorated transaction manager. */
+  protected final TransactionManager manager;
+
+  protected DelegatingTransactionManager(TransactionManager manager)
+  {
+    this.manager = manager;
+  }
+
+  @Override
+  public Transaction createTransaction(String schema)
+  {
+    return manager.createTransaction(schema);
+  }
+
+  @Override
+  public Transaction createReadOnlyTransaction(String schema)
+  {
+    return manager.createReadOnlyTransaction(schema);
+  }
+
+  @Override
+  public Transaction createTransaction(String schema, Deadline deadline)
+  {
+    return manager.createTransaction(schema, deadline);
+  }
+
+  @Override
+  public Transaction createReadOnlyTransaction(String schema, Deadline deadline)
+  {
+    return manager.createReadOnlyTransaction(schema, deadline);
+  }
+
+  @Override
+  public <R, T> T exec(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return manager.exec(schema, workingUnit, args);
+  }
+
+  @Override
+  public <R, T> T exec(WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return manager.exec(workingUnit, args);
+  }
+
+  @Override
+  public <R, T> T exec(String schema, WorkingUnit0<R, T> workingUnit) throws TransactionException
+  {
+    return manager.exec(schema, workingUnit);
+  }
+
+  @Override
+  public <R, A, T> T exec(String schema, A a, WorkingUnit1<R, A, T> workingUnit) throws TransactionException
+  {
+    return manager.exec(schema, a, workingUnit);
+  }
+
+  @Override
+  public <R, A, B, T> T exec(String schema, A a, B b, WorkingUnit2<R, A, B, T> workingUnit) throws TransactionException
+  {
+    return manager.exec(schema, a, b, workingUnit);
+  }
+
+  @Override
+  public <R, T> T exec(String schema, long id, LongWorkingUnit<R, T> workingUnit) throws TransactionException
+  {
+    return manager.exec(schema, id, workingUnit);
+  }
+
+  @Override
+  public <R, T> T exec(Propagation propagation, String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return manager.exec(propagation, schema, workingUnit, args);
+  }
+
+  @Override
+  public <R, T> T exec(Deadline deadline, String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return manager.exec(deadline, schema, workingUnit, args);
+  }
+
+  @Override
+  public <R, T> T execInNewTransaction(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return manager.execInNewTransaction(schema, workingUnit, args);
+  }
+
+  @Override
+  public <R, T> T execNonTransactional(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return manager.execNonTransactional(schema, workingUnit, args);
+  }
+
+  @Override
+  public Transaction getCurrentTransaction(String schema)
+  {
+    return manager.getCurrentTransaction(schema);
+  }
+
+  @Override
+  public <R, T> T execReadOnly(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return manager.execReadOnly(schema, workingUnit, args);
+  }
+
+  @Override
+  public <R, T> Stream<T> execStream(String schema, int fetchSize, StreamingWorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return manager.execStream(schema, fetchSize, workingUnit, args);
+  }
+
+  @Override
+  public <R, T> CompletableFuture<T> execAsync(String schema, WorkingUnit<R, T> workingUnit, Object... args)
+  {
+    return manager.execAsync(schema, workingUnit, args);
+  }
+
+  @Override
+  public <R, T> BatchResult<T> execBatch(String schema, List<? extends WorkingUnit<R, T>> workingUnits, int commitInterval, Object... args)
+  {
+    return manager.execBatch(schema, workingUnits, commitInterval, args);
+  }
+
+  @Override
+  public <P, R, T> PartitionResult<P, T> execPartitioned(String schema, List<P> partitions, int parallelism, WorkingUnit<R, T> workingUnit, Object... args)
+  {
+    return manager.execPartitioned(schema, partitions, parallelism, workingUnit, args);
+  }
+
+  @Override
+  public void destroy()
+  {
+    manager.destroy();
+  }
+}
@@ -0,0 +1,251 @@
+package com.jslib.api.transaction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in group commit for a transactional schema. Working units submitted concurrently from many threads are gathered
+ * for a short time window, or until maximum batch size is reached, and executed in a single transaction so that a
+ * single commit serves all of them. Every caller blocks until its own working unit completes and receives its own
+ * result, exactly as with {@link TransactionManager#exec(String, WorkingUnit, Object...)}.
+ * 
+ * If any working unit from batch fails or batch commit fails, batch transaction is rolled back and every working unit
+ * falls back to an individual transaction executed on its caller thread. As a consequence working units from a failed
+ * batch are executed twice and should not have side effects outside transactional resource.
+ * 
+ * <pre>
+ * GroupCommit groupCommit = new GroupCommit(manager, "core", Duration.ofMillis(2), 64);
+ * ...
+ * Order order = groupCommit.exec(new WorkingUnit&lt;Session, Order&gt;() { ... }, orderId);
+ * ...
+ * groupCommit.close();
+ * </pre>
+ * 
+ * A working unit submitted while a transaction on the same schema is active on caller thread is not batched; it is
+ * executed inline, joining enclosing transaction, as required by nested transactions contract.
+ * 
+ * Group commit is useful for many tiny write working units where commit cost dominates. Working units from the same
+ * batch share the resource manager and see each other changes; they should not depend on isolation from each other.
+ * Batches are executed one at a time, by a dedicated daemon thread, and group commit should be closed when no longer
+ * needed. Group commit is thread safe.
+ * 
+ * @author Iulian Rotaru
+ */
+public class GroupCommit implements AutoCloseable
+{
+  private static final Object FALLBACK = new Object();
+  /** Queued by {@link #close()} to stop flusher thread after batches already submitted. */
+  private static final Request CLOSE = new Request(null, null);
+
+  private final TransactionManager manager;
+  private final String schema;
+  private final long window;
+  private final int maxBatchSize;
+
+  private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+  private final Thread flusher;
+  private volatile boolean closed;
+
+  /**
+   * Create group commit for given transactional schema and start batches flusher thread.
+   * 
+   * @param manager transaction manager,
+   * @param schema optional transactional schema, null if not used,
+   * @param window maximum time a working unit waits for other working units to join its batch,
+   * @param maxBatchSize maximum number of working units executed in a transaction.
+   * @throws IllegalArgumentException if maximum batch size is not strictly positive.
+   */
+  public GroupCommit(TransactionManager manager, String schema, Duration window, int maxBatchSize)
+  {
+    if(maxBatchSize <= 0) {
+      throw new IllegalArgumentException("Maximum batch size should be strictly positive.");
+    }
+    this.manager = manager;
+    this.schema = schema;
+    this.window = window.toNanos();
+    this.maxBatchSize = maxBatchSize;
+
+    this.flusher = new Thread(this::flush, "group-commit" + (schema != null ? "-" + schema : ""));
+    this.flusher.setDaemon(true);
+    this.flusher.start();
+  }
+
+  /**
+   * Execute working unit as part of a group commit batch and return its value. This method blocks till batch containing
+   * working unit is committed or, on batch failure, till working unit individual transaction completes.
+   * 
+   * @param workingUnit working unit to be executed transactional,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit individual execution fails.
+   * @throws IllegalStateException if this group commit is closed.
+   */
+  @SuppressWarnings("unchecked")
+  public <R, T> T exec(WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    if(closed) {
+      throw new IllegalStateException("Group commit closed.");
+    }
+    if(manager.getCurrentTransaction(schema) != null) {
+      // enclosing transaction on caller thread; batch would commit working unit outside it
+      return manager.exec(schema, workingUnit, args);
+    }
+    Request request = new Request(workingUnit, args);
+    queue.add(request);
+    if(closed && queue.remove(request)) {
+      // group commit closed concurrently and flusher thread will not see this request
+      request.future.complete(FALLBACK);
+    }
+
+    Object value;
+    try {
+      value = request.future.join();
+    }
+    catch(CompletionException e) {
+      Throwable cause = e.getCause();
+      if(cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw cause instanceof RuntimeException ? (RuntimeException)cause : new TransactionException((Exception)cause);
+    }
+    if(value == FALLBACK) {
+      return manager.exec(schema, workingUnit, args);
+    }
+    return (T)value;
+  }
+
+  /**
+   * Stop batches flusher thread after batches already submitted are completed. Working units submitted after close
+   * fall back to individual transactions.
+   */
+  @Override
+  public void close()
+  {
+    closed = true;
+    queue.add(CLOSE);
+  }
+
+  private void flush()
+  {
+    List<Request> batch = new ArrayList<>(maxBatchSize);
+    try {
+      boolean stop = false;
+      while(!stop) {
+        Request first = queue.take();
+        if(first == CLOSE) {
+          break;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + window;
+        while(batch.size() < maxBatchSize) {
+          Request request = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if(request == null) {
+            break;
+          }
+          if(request == CLOSE) {
+            stop = true;
+            break;
+          }
+          batch.add(request);
+        }
+
+        try {
+          exec(batch);
+        }
+        catch(Throwable t) {
+          // keep flusher alive; requests not completed by failed batch fall back to individual transactions
+          for(Request request : batch) {
+            request.future.complete(FALLBACK);
+          }
+        }
+        batch.clear();
+      }
+    }
+    catch(InterruptedException e) {
+      // flusher thread interrupted from outside; pending requests fall back to individual transactions
+      closed = true;
+    }
+    finally {
+      queue.drainTo(batch);
+      for(Request request : batch) {
+        request.future.complete(FALLBACK);
+      }
+    }
+  }
+
+  private void exec(List<Request> batch)
+  {
+    if(batch.size() == 1) {
+      batch.get(0).future.complete(FALLBACK);
+      return;
+    }
+
+    Object[] values = new Object[batch.size()];
+    Transaction transaction;
+    try {
+      transaction = manager.createTransaction(schema);
+    }
+    catch(RuntimeException e) {
+      for(Request request : batch) {
+        request.future.completeExceptionally(e);
+      }
+      return;
+    }
+
+    boolean committed = false;
+    try {
+      for(int i = 0; i < values.length; ++i) {
+        values[i] = batch.get(i).exec(transaction);
+      }
+      transaction.commit();
+      committed = true;
+    }
+    catch(Throwable e) {
+      try {
+        transaction.rollback();
+      }
+      catch(RuntimeException ignored) {
+        // working units fall back to individual transactions anyway
+      }
+    }
+    finally {
+      try {
+        transaction.close();
+      }
+      catch(RuntimeException ignored) {
+        // close failure does not change batch outcome; after commit working units must not be executed again
+      }
+    }
+
+    for(int i = 0; i < values.length; ++i) {
+      batch.get(i).future.complete(committed ? values[i] : FALLBACK);
+    }
+  }
+
+  private static class Request
+  {
+    final WorkingUnit<?, ?> workingUnit;
+    final Object[] args;
+    final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    Request(WorkingUnit<?, ?> workingUnit, Object[] args)
+    {
+      this.workingUnit = workingUnit;
+      this.args = args;
+    }
+
+    @SuppressWarnings("unchecked")
+    Object exec(Transaction transaction) throws Exception
+    {
+      return ((WorkingUnit<Object, ?>)workingUnit).exec(transaction.getResourceManager(), args);
+    }
+  }
+}
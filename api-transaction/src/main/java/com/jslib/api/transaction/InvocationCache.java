@@ -0,0 +1,189 @@
+package com.jslib.api.transaction;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Transaction scoped cache for {@link Immutable} methods results, used by {@link TransactionFactory} implementations.
+ * Results are keyed by target instance, method and arguments and are discarded when their transaction closes, so that
+ * there is no consistency risk across transactions. Target instance is compared by identity, so that instances of the
+ * same class bound to different schemas do not share results.
+ * 
+ * Every transaction has its own cache: transactional method invocations joining the same transaction share the cache
+ * opened by outermost one, whereas a new transaction, e.g. {@link Propagation#REQUIRES_NEW} or a transaction on other
+ * schema, opens a new cache. Transaction is compared by identity; proxies should open the cache for the transaction
+ * returned by {@link TransactionManager#getCurrentTransaction(String)} since nested transactions may be represented by
+ * distinct instances. Caches are bound to current thread.
+ * 
+ * Any {@link Mutable} method invalidates cached results of all transactions opened on current thread, not only of its
+ * own, since its changes may be visible to enclosing transactions, e.g. on read committed isolation. For the same
+ * reason proxies should invalidate the cache when a {@link Propagation#NESTED} transaction is rolled back to its
+ * savepoint, since cached results may reflect discarded changes.
+ * 
+ * <pre>
+ * InvocationCache cache = InvocationCache.open(manager.getCurrentTransaction(schema));
+ * try {
+ *   if(immutable) {
+ *     Object value = cache.get(instance, method, args);
+ *     if(value == InvocationCache.MISS) {
+ *       value = method.invoke(instance, args);
+ *       cache.put(instance, method, args, value);
+ *     }
+ *     return value;
+ *   }
+ *   cache.invalidate();
+ *   try {
+ *     return method.invoke(instance, args);
+ *   }
+ *   finally {
+ *     cache.invalidate();
+ *   }
+ * }
+ * finally {
+ *   cache.close();
+ * }
+ * </pre>
+ * 
+ * Note that cached results are shared by all callers from transaction; an {@link Immutable} method should not return
+ * values that callers are expected to modify. Invocation cache is not thread safe, by design.
+ * 
+ * @author Iulian Rotaru
+ */
+public class InvocationCache
+{
+  /** Value returned by {@link #get(Object, Method, Object[])} for cache miss, since null is a valid method result. */
+  public static final Object MISS = new Object();
+
+  /** Caches of the transactions opened on current thread, keyed by transaction identity. */
+  private static final ThreadLocal<Map<Transaction, InvocationCache>> current = new ThreadLocal<>();
+
+  /**
+   * Open cache for given transaction. If there is no cache bound to transaction this method creates a new one;
+   * otherwise reuse existing cache and increment nesting level.
+   * 
+   * @param transaction current transaction.
+   * @return given transaction cache.
+   * @throws IllegalArgumentException if transaction argument is null.
+   */
+  public static InvocationCache open(Transaction transaction)
+  {
+    if(transaction == null) {
+      throw new IllegalArgumentException("Null transaction.");
+    }
+    Map<Transaction, InvocationCache> caches = current.get();
+    if(caches == null) {
+      caches = new IdentityHashMap<>();
+      current.set(caches);
+    }
+    InvocationCache cache = caches.get(transaction);
+    if(cache == null) {
+      cache = new InvocationCache(caches, transaction);
+      caches.put(transaction, cache);
+    }
+    ++cache.nestingLevel;
+    return cache;
+  }
+
+  private final Map<Transaction, InvocationCache> caches;
+  private final Transaction transaction;
+  private final Map<Key, Object> values = new HashMap<>();
+  private int nestingLevel;
+
+  private InvocationCache(Map<Transaction, InvocationCache> caches, Transaction transaction)
+  {
+    this.caches = caches;
+    this.transaction = transaction;
+  }
+
+  /**
+   * Get cached result for method invocation on given instance with given arguments.
+   * 
+   * @param instance target instance,
+   * @param method invoked method,
+   * @param args invocation arguments, possible null.
+   * @return cached result, possible null, or {@link #MISS} if result is not cached.
+   */
+  public Object get(Object instance, Method method, Object[] args)
+  {
+    return values.getOrDefault(new Key(instance, method, args), MISS);
+  }
+
+  /**
+   * Store method invocation result. Arguments array is copied so that caller can reuse it.
+   * 
+   * @param instance target instance,
+   * @param method invoked method,
+   * @param args invocation arguments, possible null,
+   * @param value invocation result, possible null.
+   */
+  public void put(Object instance, Method method, Object[] args, Object value)
+  {
+    values.put(new Key(instance, method, args != null ? args.clone() : null), value);
+  }
+
+  /**
+   * Discard all cached results of all transactions opened on current thread, e.g. because a mutable method was
+   * executed in current transaction.
+   */
+  public void invalidate()
+  {
+    for(InvocationCache cache : caches.values()) {
+      cache.values.clear();
+    }
+  }
+
+  /**
+   * Close this cache. Cache is discarded only when outermost invocation of its transaction closes it; for nested
+   * invocations just decrement nesting level. Should be invoked after transaction commit or rollback, so that cached
+   * results do not survive transaction.
+   * 
+   * @return true if cache was discarded, false for nested invocations.
+   */
+  public boolean close()
+  {
+    if(--nestingLevel > 0) {
+      return false;
+    }
+    values.clear();
+    caches.remove(transaction);
+    if(caches.isEmpty()) {
+      current.remove();
+    }
+    return true;
+  }
+
+  private static class Key
+  {
+    private final Object instance;
+    private final Method method;
+    private final Object[] args;
+    private final int hashCode;
+
+    Key(Object instance, Method method, Object[] args)
+    {
+      this.instance = instance;
+      this.method = method;
+      this.args = args;
+      this.hashCode = 31 * (31 * System.identityHashCode(instance) + method.hashCode()) + Arrays.deepHashCode(args);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if(this == obj) return true;
+      if(obj == null) return false;
+      if(getClass() != obj.getClass()) return false;
+      Key other = (Key)obj;
+      return instance == other.instance && method.equals(other.method) && Arrays.deepEquals(args, other.args);
+    }
+  }
+}
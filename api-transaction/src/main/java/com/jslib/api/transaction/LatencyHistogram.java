@@ -0,0 +1,118 @@
+package com.jslib.api.transaction;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram with power of two buckets, in nanoseconds. Bucket <code>i</code> counts latencies in
+ * range <code>[2^(i-1), 2^i)</code> so that percentiles are approximated within a factor of two, good enough for
+ * monitoring and regression detection. Recording a value is a couple of striped counter increments; it does not
+ * allocate and does not lock.
+ * 
+ * @author Iulian Rotaru
+ */
+public class LatencyHistogram
+{
+  private static final int BUCKETS_COUNT = 64;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS_COUNT];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  public LatencyHistogram()
+  {
+    for(int i = 0; i < BUCKETS_COUNT; ++i) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Record latency value. Negative values are recorded as zero.
+   * 
+   * @param nanos latency, in nanoseconds.
+   */
+  public void record(long nanos)
+  {
+    if(nanos < 0) {
+      nanos = 0;
+    }
+    // zero goes to bucket 0 and, since value is positive, the highest bucket index is 63
+    buckets[BUCKETS_COUNT - Long.numberOfLeadingZeros(nanos)].increment();
+    count.increment();
+    sum.add(nanos);
+    long currentMax;
+    while(nanos > (currentMax = max.get()) && !max.compareAndSet(currentMax, nanos)) {
+    }
+  }
+
+  /** Number of recorded values. */
+  public long getCount()
+  {
+    return count.sum();
+  }
+
+  /** Mean latency, in nanoseconds; zero if no value recorded. */
+  public long getMean()
+  {
+    long count = this.count.sum();
+    return count != 0 ? sum.sum() / count : 0;
+  }
+
+  /** Maximum recorded latency, in nanoseconds. */
+  public long getMax()
+  {
+    return max.get();
+  }
+
+  /**
+   * Get approximated latency percentile, as upper bound of the bucket containing requested percentile.
+   * 
+   * @param percentile percentile, in range [0..100].
+   * @return latency percentile, in nanoseconds; zero if no value recorded.
+   */
+  public long getPercentile(double percentile)
+  {
+    long[] counts = new long[BUCKETS_COUNT];
+    long total = 0;
+    for(int i = 0; i < BUCKETS_COUNT; ++i) {
+      counts[i] = buckets[i].sum();
+      total += counts[i];
+    }
+    if(total == 0) {
+      return 0;
+    }
+    long rank = (long)Math.ceil(total * percentile / 100.0);
+    long accumulated = 0;
+    for(int i = 0; i < BUCKETS_COUNT; ++i) {
+      accumulated += counts[i];
+      if(accumulated >= rank && counts[i] > 0) {
+        return Math.min(i < 63 ? 1L << i : Long.MAX_VALUE, max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /** Reset histogram. Not atomic with regard to concurrent recordings. */
+  public void reset()
+  {
+    for(LongAdder bucket : buckets) {
+      bucket.reset();
+    }
+    count.reset();
+    sum.reset();
+    max.set(0);
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format("count=%d, mean=%dus, p50=%dus, p99=%dus, max=%dus", getCount(), micros(getMean()), micros(getPercentile(50)), micros(getPercentile(99)), micros(getMax()));
+  }
+
+  private static long micros(long nanos)
+  {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
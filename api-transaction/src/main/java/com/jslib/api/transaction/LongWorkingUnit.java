@@ -0,0 +1,28 @@
+package com.jslib.api.transaction;
+
+/**
+ * Transactional working unit with a primitive long argument, usually an entity id, designed to work with {@link
+ * TransactionManager#exec(String, long, LongWorkingUnit)}. Unlike {@link WorkingUnit} it does not use variable
+ * arguments, so that invoking it allocates no arguments array and does not box primitives; it is intended for high rate
+ * programmatic transactions.
+ * 
+ * <pre>
+ * Person person = transactionManager.exec("core", personId, (Session session, long id) -&gt; (Person)session.get(Person.class, id));
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ * @param <R> resource manager
+ * @param <T> returned value type.
+ */
+public interface LongWorkingUnit<R, T>
+{
+  /**
+   * Execute block of code inside transactional boundaries and return the value.
+   * 
+   * @param resourceManager resource manager,
+   * @param id primitive long argument.
+   * @return working unit result, possible null.
+   * @throws Exception any execution exception is bubbled up.
+   */
+  T exec(R resourceManager, long id) throws Exception;
+}
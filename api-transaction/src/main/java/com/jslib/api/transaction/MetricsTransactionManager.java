@@ -0,0 +1,160 @@
+package com.jslib.api.transaction;
+
+/**
+ * Transaction manager decorator that records {@link TransactionMetrics} for any transaction manager implementation.
+ * Time spent in transaction creation is recorded as resource manager wait time, since it is dominated by resource
+ * manager acquisition. Programmatic working units are delegated to decorated manager, preserving its execution
+ * semantics, and are recorded as a whole, from begin to commit or rollback.
+ * 
+ * Only outermost transactions are recorded; a transaction created, or a working unit executed, while a transaction on
+ * the same schema is active on current thread joins it and is not counted again.
+ * 
+ * Other methods, including working units executed in a new transaction or non-transactionally, see
+ * {@link Propagation}, are forwarded to decorated manager and are not recorded.
+ * 
+ * @author Iulian Rotaru
+ */
+public class MetricsTransactionManager extends DelegatingTransactionManager
+{
+  private final TransactionMetrics metrics;
+
+  public MetricsTransactionManager(TransactionManager manager, TransactionMetrics metrics)
+  {
+    super(manager);
+    this.metrics = metrics;
+  }
+
+  public TransactionMetrics getMetrics()
+  {
+    return metrics;
+  }
+
+  @Override
+  public Transaction createTransaction(String schema)
+  {
+    return createTransaction(schema, false);
+  }
+
+  @Override
+  public Transaction createReadOnlyTransaction(String schema)
+  {
+    return createTransaction(schema, true);
+  }
+
+  private Transaction createTransaction(String schema, boolean readOnly)
+  {
+    if(manager.getCurrentTransaction(schema) != null) {
+      // nested transaction joins enclosing one, already recorded
+      return readOnly ? manager.createReadOnlyTransaction(schema) : manager.createTransaction(schema);
+    }
+    SchemaMetrics schemaMetrics = metrics.schema(schema);
+    long startTimestamp = System.nanoTime();
+    Transaction transaction = readOnly ? manager.createReadOnlyTransaction(schema) : manager.createTransaction(schema);
+    schemaMetrics.recordResourceWait(System.nanoTime() - startTimestamp);
+    return new MetricsTransaction(transaction, schemaMetrics.begin(readOnly));
+  }
+
+  @Override
+  public <R, T> T exec(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    if(manager.getCurrentTransaction(schema) != null) {
+      return manager.exec(schema, workingUnit, args);
+    }
+    SchemaMetrics.Probe probe = metrics.schema(schema).begin(false);
+    try {
+      T value = manager.exec(schema, workingUnit, args);
+      probe.commit();
+      return value;
+    }
+    catch(RuntimeException | Error e) {
+      probe.rollback();
+      throw e;
+    }
+    finally {
+      probe.close();
+    }
+  }
+
+  @Override
+  public <R, T> T exec(WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return exec(null, workingUnit, args);
+  }
+
+  private static class MetricsTransaction implements Transaction
+  {
+    private final Transaction transaction;
+    private final SchemaMetrics.Probe probe;
+
+    MetricsTransaction(Transaction transaction, SchemaMetrics.Probe probe)
+    {
+      this.transaction = transaction;
+      this.probe = probe;
+    }
+
+    @Override
+    public void commit()
+    {
+      transaction.commit();
+      probe.commit();
+    }
+
+    @Override
+    public void rollback()
+    {
+      try {
+        transaction.rollback();
+      }
+      finally {
+        probe.rollback();
+      }
+    }
+
+    @Override
+    public boolean close()
+    {
+      try {
+        return transaction.close();
+      }
+      finally {
+        probe.close();
+      }
+    }
+
+    @Override
+    public <R> R getResourceManager()
+    {
+      return transaction.getResourceManager();
+    }
+
+    @Override
+    public void setDeadline(Deadline deadline)
+    {
+      transaction.setDeadline(deadline);
+    }
+
+    @Override
+    public Deadline getDeadline()
+    {
+      return transaction.getDeadline();
+    }
+
+    @Override
+    public Object setSavepoint()
+    {
+      return transaction.setSavepoint();
+    }
+
+    @Override
+    public void rollback(Object savepoint)
+    {
+      transaction.rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Object savepoint)
+    {
+      transaction.releaseSavepoint(savepoint);
+    }
+  }
+}
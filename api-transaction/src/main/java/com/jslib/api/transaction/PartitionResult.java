@@ -0,0 +1,105 @@
+package com.jslib.api.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per partition results of a partitioned execution, see
+ * {@link TransactionManager#execPartitioned(String, List, int, WorkingUnit, Object...)}. Every partition is executed
+ * in its own transaction, so that it is either committed, with working unit value recorded, or failed, with exception
+ * recorded. Failed partitions can be executed again, see {@link #getFailed()}.
+ * 
+ * @author Iulian Rotaru
+ * @param <P> partition type.
+ * @param <T> working unit returned value type.
+ */
+public class PartitionResult<P, T>
+{
+  private final List<P> partitions;
+  private final Object[] values;
+  private final Exception[] exceptions;
+
+  PartitionResult(List<P> partitions)
+  {
+    this.partitions = partitions;
+    this.values = new Object[partitions.size()];
+    this.exceptions = new Exception[partitions.size()];
+  }
+
+  /** Record value returned by working unit for partition with given index; partition transaction was committed. */
+  void commit(int index, T value)
+  {
+    values[index] = value;
+  }
+
+  /** Record exception for failed partition with given index; partition transaction was rolled back. */
+  void fail(int index, Exception exception)
+  {
+    exceptions[index] = exception;
+  }
+
+  /** Get the number of partitions. */
+  public int size()
+  {
+    return partitions.size();
+  }
+
+  /** Get partition with given index. */
+  public P getPartition(int index)
+  {
+    return partitions.get(index);
+  }
+
+  /** Test if partition with given index was committed. */
+  public boolean isCommitted(int index)
+  {
+    return exceptions[index] == null;
+  }
+
+  /** Get value returned by working unit for partition with given index; null if partition failed. */
+  @SuppressWarnings("unchecked")
+  public T getValue(int index)
+  {
+    return (T)values[index];
+  }
+
+  /** Get exception for failed partition with given index; null if partition was committed. */
+  public Exception getException(int index)
+  {
+    return exceptions[index];
+  }
+
+  /** Test if all partitions were committed. */
+  public boolean isSuccess()
+  {
+    for(Exception exception : exceptions) {
+      if(exception != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get failed partitions, in partitions order. Returned list can be used to retry failed partitions.
+   * 
+   * <pre>
+   * PartitionResult&lt;Range, Integer&gt; result = manager.execPartitioned("core", ranges, 8, reprocess);
+   * if(!result.isSuccess()) {
+   *   result = manager.execPartitioned("core", result.getFailed(), 8, reprocess);
+   * }
+   * </pre>
+   * 
+   * @return failed partitions, possible empty.
+   */
+  public List<P> getFailed()
+  {
+    List<P> failed = new ArrayList<>();
+    for(int i = 0; i < exceptions.length; ++i) {
+      if(exceptions[i] != null) {
+        failed.add(partitions.get(i));
+      }
+    }
+    return failed;
+  }
+}
@@ -0,0 +1,109 @@
+package com.jslib.api.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility partitioners for {@link TransactionManager#execPartitioned(String, List, int, WorkingUnit, Object...)}. A
+ * partition can be any object understood by the working unit; this class supplies the common ones: key ranges and
+ * chunks of a list.
+ * 
+ * <pre>
+ * List&lt;Partitions.Range&gt; ranges = Partitions.ranges(0, maxId + 1, 64);
+ * PartitionResult&lt;Partitions.Range, Integer&gt; result = manager.execPartitioned("core", ranges, 8, reprocess);
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ */
+public final class Partitions
+{
+  private Partitions()
+  {
+  }
+
+  /**
+   * Split keys range into given number of contiguous ranges of about the same size. Returned list may have fewer
+   * ranges than requested if keys range is smaller than ranges count.
+   * 
+   * @param start range start key, inclusive,
+   * @param end range end key, exclusive,
+   * @param count desired number of ranges, strictly positive.
+   * @return contiguous ranges, in keys order; empty if keys range is empty.
+   * @throws IllegalArgumentException if ranges count is not strictly positive.
+   */
+  public static List<Range> ranges(long start, long end, int count)
+  {
+    if(count <= 0) {
+      throw new IllegalArgumentException("Ranges count should be strictly positive.");
+    }
+    List<Range> ranges = new ArrayList<>();
+    if(end <= start) {
+      return ranges;
+    }
+    // keys range length may not fit a signed long, e.g. for negative start; handle it as unsigned
+    long length = end - start;
+    long size = Long.divideUnsigned(length, count);
+    long remainder = Long.remainderUnsigned(length, count);
+    // first remainder ranges have one extra key; ranges count is bounded by keys range length
+    int rangesCount = size != 0 ? count : (int)remainder;
+    long rangeStart = start;
+    for(int i = 0; i < rangesCount; ++i) {
+      long rangeEnd = rangeStart + size + (i < remainder ? 1 : 0);
+      ranges.add(new Range(rangeStart, rangeEnd));
+      rangeStart = rangeEnd;
+    }
+    return ranges;
+  }
+
+  /**
+   * Split list into chunks of given size; last chunk may be smaller. Chunks are independent copies of list items.
+   * 
+   * @param items list items,
+   * @param size chunk size, strictly positive.
+   * @param <E> list items type.
+   * @return list chunks, in list order; empty if list is empty.
+   * @throws IllegalArgumentException if chunk size is not strictly positive.
+   */
+  public static <E> List<List<E>> chunks(List<E> items, int size)
+  {
+    if(size <= 0) {
+      throw new IllegalArgumentException("Chunk size should be strictly positive.");
+    }
+    List<List<E>> chunks = new ArrayList<>();
+    for(int i = 0; i < items.size(); i += size) {
+      chunks.add(new ArrayList<>(items.subList(i, Math.min(items.size(), i + size))));
+    }
+    return chunks;
+  }
+
+  /** Keys range with inclusive start and exclusive end. */
+  public static final class Range
+  {
+    private final long start;
+    private final long end;
+
+    public Range(long start, long end)
+    {
+      this.start = start;
+      this.end = end;
+    }
+
+    /** Range start key, inclusive. */
+    public long getStart()
+    {
+      return start;
+    }
+
+    /** Range end key, exclusive. */
+    public long getEnd()
+    {
+      return end;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "[" + start + ", " + end + ")";
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.jslib.api.transaction;
+
+/**
+ * Transaction propagation mode, that is, how a transactional method or working unit relates to the transaction already
+ * active on current thread, if any. See {@link Transactional#propagation()} and
+ * {@link TransactionManager#exec(Propagation, String, WorkingUnit, Object...)}.
+ * 
+ * @author Iulian Rotaru
+ */
+public enum Propagation
+{
+  /**
+   * Join enclosing transaction and its resource manager, if any, otherwise create a new transaction. This is the
+   * default mode and the nested transactions behavior required by {@link Transaction} contract.
+   */
+  REQUIRED,
+  /**
+   * Always create a new transaction on a new resource manager, suspending enclosing transaction, if any, till new
+   * transaction completes. Not all implementations support this mode.
+   */
+  REQUIRES_NEW,
+  /**
+   * Join enclosing transaction, if any, otherwise execute non-transactionally, on a resource manager in auto-commit
+   * mode. Not all implementations support non-transactional execution.
+   */
+  SUPPORTS,
+  /**
+   * Execute inside a savepoint of enclosing transaction, if any, otherwise create a new transaction. On failure, only
+   * changes after savepoint are rolled back and enclosing transaction can continue. Requires resource manager support
+   * for savepoints.
+   */
+  NESTED
+}
@@ -0,0 +1,423 @@
+package com.jslib.api.transaction;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Transaction manager decorator that routes read-only transactions to read replicas. Every replica is accessed via its
+ * own transaction manager, configured for replica transactional resource, and is registered per schema. Read-write
+ * transactions and all methods not creating read-only transactions are forwarded to primary transaction manager.
+ * 
+ * Read-only transactions, including the ones created by {@link TransactionFactory} for {@link Immutable} methods and the
+ * ones created by {@link #execReadOnly(String, WorkingUnit, Object...)}, are sent to the healthy replica with the least
+ * outstanding transactions. A replica is marked unhealthy when it fails to create a transaction or when health check
+ * fails, and is retried after configured retry interval; only one thread at a time probes an unhealthy replica. If
+ * schema has no healthy replica read-only transaction is created on primary. A read-only transaction created while a
+ * transaction on the same schema is active on current thread joins it, on primary or on the same replica, so that
+ * nested read-only methods see enclosing transaction state and do not take a second resource manager.
+ * 
+ * <pre>
+ * ReplicaRouter router = new ReplicaRouter(primary);
+ * router.addReplica("core", replica1);
+ * router.addReplica("core", replica2);
+ * router.setHealthCheck(replica -&gt; replica.exec("core", (Connection connection, Object... args) -&gt; connection.isValid(1)));
+ * TransactionManager manager = router;
+ * </pre>
+ * 
+ * Note that replicas are usually updated asynchronously and a read-only transaction may not see changes just committed
+ * on primary. Replica router is thread safe.
+ * 
+ * @author Iulian Rotaru
+ */
+public class ReplicaRouter extends DelegatingTransactionManager
+{
+  private static final String DEFAULT_SCHEMA = "";
+
+  private final Map<String, List<Replica>> replicas = new ConcurrentHashMap<>();
+  private final AtomicInteger cursor = new AtomicInteger();
+  /** Outermost replica transactions active on current thread, per schema. */
+  private final ThreadLocal<Map<String, ReplicaTransaction>> replicaTransactions = new ThreadLocal<>();
+
+  private volatile Predicate<TransactionManager> healthCheck;
+  private volatile long retryInterval = Duration.ofSeconds(10).toNanos();
+
+  public ReplicaRouter(TransactionManager primary)
+  {
+    super(primary);
+  }
+
+  /**
+   * Register read replica for given schema.
+   * 
+   * @param schema transactional schema, null for default / global schema,
+   * @param replica transaction manager configured for replica transactional resource.
+   */
+  public void addReplica(String schema, TransactionManager replica)
+  {
+    replicas.computeIfAbsent(key(schema), key -> new CopyOnWriteArrayList<>()).add(new Replica(replica));
+  }
+
+  /**
+   * Set active health check executed for replicas by {@link #checkHealth()} and before an unhealthy replica is used
+   * again. If not configured, unhealthy replica is simply used again after retry interval.
+   * 
+   * @param healthCheck replica health check, returns true if replica is healthy.
+   */
+  public void setHealthCheck(Predicate<TransactionManager> healthCheck)
+  {
+    this.healthCheck = healthCheck;
+  }
+
+  /**
+   * Set interval an unhealthy replica is not used. Default to 10 seconds.
+   * 
+   * @param retryInterval unhealthy replica retry interval, strictly positive.
+   * @throws IllegalArgumentException if retry interval is not strictly positive.
+   */
+  public void setRetryInterval(Duration retryInterval)
+  {
+    if(retryInterval.isNegative() || retryInterval.isZero()) {
+      throw new IllegalArgumentException("Retry interval should be strictly positive.");
+    }
+    this.retryInterval = retryInterval.toNanos();
+  }
+
+  /**
+   * Execute health check on all replicas and update their status. Designed to be invoked periodically by caller
+   * scheduler; it is a no-operation if health check is not configured.
+   */
+  public void checkHealth()
+  {
+    if(healthCheck == null) {
+      return;
+    }
+    for(List<Replica> schemaReplicas : replicas.values()) {
+      for(Replica replica : schemaReplicas) {
+        replica.checkHealth();
+      }
+    }
+  }
+
+  @Override
+  public Transaction createReadOnlyTransaction(String schema)
+  {
+    if(manager.getCurrentTransaction(schema) != null) {
+      // join enclosing transaction for read-your-writes
+      return manager.createReadOnlyTransaction(schema);
+    }
+    ReplicaTransaction enclosing = currentReplicaTransaction(schema);
+    if(enclosing != null) {
+      // nested transaction on the same replica, joining enclosing one on replica transaction manager
+      return new ReplicaTransaction(enclosing.replica.manager.createReadOnlyTransaction(schema), enclosing.replica, schema, false);
+    }
+    List<Replica> schemaReplicas = replicas.get(key(schema));
+    if(schemaReplicas != null) {
+      // every failed attempt marks a replica unhealthy; bound attempts anyway, to replicas count
+      for(int attempt = 0; attempt < schemaReplicas.size(); ++attempt) {
+        Replica replica = select(schemaReplicas);
+        if(replica == null) {
+          break;
+        }
+        Transaction transaction = replica.createTransaction(schema);
+        if(transaction != null) {
+          ReplicaTransaction replicaTransaction = new ReplicaTransaction(transaction, replica, schema, true);
+          Map<String, ReplicaTransaction> transactions = replicaTransactions.get();
+          if(transactions == null) {
+            transactions = new HashMap<>();
+            replicaTransactions.set(transactions);
+          }
+          transactions.put(key(schema), replicaTransaction);
+          return replicaTransaction;
+        }
+      }
+    }
+    return manager.createReadOnlyTransaction(schema);
+  }
+
+  /**
+   * Select healthy replica with least outstanding transactions or null if none healthy. Search start position is
+   * rotated so that ties are spread over replicas.
+   */
+  private Replica select(List<Replica> schemaReplicas)
+  {
+    Replica selected = null;
+    int selectedOutstanding = Integer.MAX_VALUE;
+    int size = schemaReplicas.size();
+    int start = Math.floorMod(cursor.getAndIncrement(), size);
+    for(int i = 0; i < size; ++i) {
+      Replica replica = schemaReplicas.get((start + i) % size);
+      if(!replica.isAvailable()) {
+        continue;
+      }
+      int outstanding = replica.outstanding.get();
+      if(outstanding < selectedOutstanding) {
+        selected = replica;
+        selectedOutstanding = outstanding;
+      }
+    }
+    return selected;
+  }
+
+  @Override
+  public Transaction createReadOnlyTransaction(String schema, Deadline deadline)
+  {
+    if(deadline == null) {
+      return createReadOnlyTransaction(schema);
+    }
+    deadline.check();
+    Transaction transaction = createReadOnlyTransaction(schema);
+    transaction.setDeadline(deadline);
+    return transaction;
+  }
+
+  @Override
+  public <R, T> T execReadOnly(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Transaction transaction = createReadOnlyTransaction(schema);
+    try {
+      return workingUnit.exec(transaction.getResourceManager(), args);
+    }
+    catch(TransactionException e) {
+      throw e;
+    }
+    catch(Exception e) {
+      throw new TransactionException(e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Override
+  public <R, T> Stream<T> execStream(String schema, int fetchSize, StreamingWorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Transaction transaction = createReadOnlyTransaction(schema);
+    try {
+      Stream<T> stream = workingUnit.exec(transaction.getResourceManager(), fetchSize, args);
+      return stream.onClose(transaction::close);
+    }
+    catch(Exception e) {
+      transaction.close();
+      throw e instanceof TransactionException ? (TransactionException)e : new TransactionException(e);
+    }
+  }
+
+  /** Get transaction active on current thread, on primary or on a replica, or null if none. */
+  @Override
+  public Transaction getCurrentTransaction(String schema)
+  {
+    Transaction transaction = manager.getCurrentTransaction(schema);
+    return transaction != null ? transaction : currentReplicaTransaction(schema);
+  }
+
+  private ReplicaTransaction currentReplicaTransaction(String schema)
+  {
+    Map<String, ReplicaTransaction> transactions = replicaTransactions.get();
+    return transactions != null ? transactions.get(key(schema)) : null;
+  }
+
+  private void removeReplicaTransaction(String schema)
+  {
+    Map<String, ReplicaTransaction> transactions = replicaTransactions.get();
+    if(transactions != null) {
+      transactions.remove(key(schema));
+      if(transactions.isEmpty()) {
+        replicaTransactions.remove();
+      }
+    }
+  }
+
+  /** Destroy primary and all replicas transaction managers. */
+  @Override
+  public void destroy()
+  {
+    for(List<Replica> schemaReplicas : replicas.values()) {
+      for(Replica replica : schemaReplicas) {
+        replica.manager.destroy();
+      }
+    }
+    manager.destroy();
+  }
+
+  private static String key(String schema)
+  {
+    return schema != null ? schema : DEFAULT_SCHEMA;
+  }
+
+  private class Replica
+  {
+    final TransactionManager manager;
+    final AtomicInteger outstanding = new AtomicInteger();
+    /** Time stamp, in nanoseconds, till replica is not used; zero if replica is healthy. */
+    volatile long unhealthyUntil;
+    /** Guard allowing a single health check at a time. */
+    final AtomicBoolean probing = new AtomicBoolean();
+
+    Replica(TransactionManager manager)
+    {
+      this.manager = manager;
+    }
+
+    boolean isAvailable()
+    {
+      long unhealthyUntil = this.unhealthyUntil;
+      if(unhealthyUntil == 0) {
+        return true;
+      }
+      if(System.nanoTime() - unhealthyUntil < 0) {
+        return false;
+      }
+      if(healthCheck == null) {
+        return true;
+      }
+      return checkHealth();
+    }
+
+    /**
+     * Execute health check and update replica status. If a health check is already running on another thread this
+     * method does not wait for it and returns false, so that callers do not probe a replica all at once.
+     */
+    boolean checkHealth()
+    {
+      if(!probing.compareAndSet(false, true)) {
+        return false;
+      }
+      try {
+        boolean healthy;
+        try {
+          healthy = healthCheck.test(manager);
+        }
+        catch(RuntimeException e) {
+          healthy = false;
+        }
+        if(healthy) {
+          unhealthyUntil = 0;
+        }
+        else {
+          markUnhealthy();
+        }
+        return healthy;
+      }
+      finally {
+        probing.set(false);
+      }
+    }
+
+    void markUnhealthy()
+    {
+      // avoid zero since it means healthy
+      unhealthyUntil = (System.nanoTime() + retryInterval) | 1;
+    }
+
+    /**
+     * Create read-only transaction on replica and increment outstanding transactions or return null and mark replica
+     * unhealthy if creation fails.
+     */
+    Transaction createTransaction(String schema)
+    {
+      Transaction transaction;
+      outstanding.incrementAndGet();
+      try {
+        transaction = manager.createReadOnlyTransaction(schema);
+      }
+      catch(RuntimeException e) {
+        outstanding.decrementAndGet();
+        markUnhealthy();
+        return null;
+      }
+      return transaction;
+    }
+  }
+
+  /**
+   * Transaction on a replica. Outermost replica transaction is bound to current thread and releases replica outstanding
+   * counter on close; nested ones only delegate to replica nested transaction.
+   */
+  private class ReplicaTransaction implements Transaction
+  {
+    private final Transaction transaction;
+    private final Replica replica;
+    private final String schema;
+    private final boolean outermost;
+    private boolean closed;
+
+    ReplicaTransaction(Transaction transaction, Replica replica, String schema, boolean outermost)
+    {
+      this.transaction = transaction;
+      this.replica = replica;
+      this.schema = schema;
+      this.outermost = outermost;
+    }
+
+    @Override
+    public void commit()
+    {
+      transaction.commit();
+    }
+
+    @Override
+    public void rollback()
+    {
+      transaction.rollback();
+    }
+
+    @Override
+    public boolean close()
+    {
+      try {
+        return transaction.close();
+      }
+      finally {
+        if(outermost && !closed) {
+          closed = true;
+          removeReplicaTransaction(schema);
+          replica.outstanding.decrementAndGet();
+        }
+      }
+    }
+
+    @Override
+    public <R> R getResourceManager()
+    {
+      return transaction.getResourceManager();
+    }
+
+    @Override
+    public void setDeadline(Deadline deadline)
+    {
+      transaction.setDeadline(deadline);
+    }
+
+    @Override
+    public Deadline getDeadline()
+    {
+      return transaction.getDeadline();
+    }
+
+    @Override
+    public Object setSavepoint()
+    {
+      return transaction.setSavepoint();
+    }
+
+    @Override
+    public void rollback(Object savepoint)
+    {
+      transaction.rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Object savepoint)
+    {
+      transaction.releaseSavepoint(savepoint);
+    }
+  }
+}
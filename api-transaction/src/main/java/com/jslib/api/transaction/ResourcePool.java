@@ -0,0 +1,418 @@
+package com.jslib.api.transaction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Striped pool of resource managers, e.g. connections or sessions, designed to be used by {@link TransactionManager}
+ * implementations, one pool per transactional schema. Resource manager type is the same <code>R</code> used by
+ * {@link WorkingUnit}. Resource managers are created, validated and destroyed by a {@link Factory} supplied by
+ * implementation.
+ * 
+ * Idle resource managers are kept on a number of lock free stripes, at least the number of available processors, and
+ * every thread borrows from and returns to its own stripe, stealing from other stripes only when its own is empty.
+ * Borrowed resource managers are guarded by a semaphore that does not block while there are available permits. When
+ * pool is exhausted borrow waits up to configured timeout and throws {@link TransactionException} if no resource manager
+ * was returned meanwhile. Total number of resource managers, both idle and borrowed, is kept separately and a resource
+ * manager is created only if total is below maximum size.
+ * 
+ * <pre>
+ * ResourcePool&lt;Connection&gt; pool = new ResourcePool&lt;&gt;("core", factory, 32);
+ * pool.setMinIdle(8);
+ * pool.warmUp();
+ * ...
+ * Connection connection = pool.borrow();
+ * try {
+ *   ...
+ * }
+ * finally {
+ *   pool.release(connection);
+ * }
+ * </pre>
+ * 
+ * Pool collects metrics about borrow wait time, exhaustion and resource managers life cycle, see getters. Resource pool
+ * is thread safe.
+ * 
+ * @author Iulian Rotaru
+ * @param <R> resource manager type.
+ */
+public class ResourcePool<R> implements AutoCloseable
+{
+  /**
+   * Resource managers factory supplied by transaction manager implementation.
+   * 
+   * @author Iulian Rotaru
+   * @param <R> resource manager type.
+   */
+  public interface Factory<R>
+  {
+    /** Create a new resource manager. */
+    R create() throws Exception;
+
+    /** Test if resource manager is still usable. Default implementation returns true. */
+    default boolean validate(R resourceManager)
+    {
+      return true;
+    }
+
+    /** Release resource manager external resources. Default implementation does nothing. */
+    default void destroy(R resourceManager)
+    {
+    }
+  }
+
+  private final String name;
+  private final Factory<R> factory;
+  private final int maxSize;
+
+  /** Time a borrower at maximum pool size parks before looking again for an idle resource manager. */
+  private static final long IDLE_WAIT = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final List<Queue<R>> stripes;
+  private final int stripesMask;
+  private final Semaphore permits;
+
+  private volatile int minIdle;
+  private volatile long borrowTimeout = Duration.ofSeconds(30).toNanos();
+  private volatile boolean validateOnBorrow = true;
+  private volatile boolean closed;
+
+  /** Number of resource managers created and not yet destroyed, both idle and borrowed. */
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final LongAdder borrowCount = new LongAdder();
+  private final LongAdder waitCount = new LongAdder();
+  private final LongAdder waitTime = new LongAdder();
+  private final LongAdder exhaustedCount = new LongAdder();
+  private final LongAdder createdCount = new LongAdder();
+  private final LongAdder destroyedCount = new LongAdder();
+
+  /**
+   * Create resource pool instance. Pool is created empty; see {@link #warmUp()}.
+   * 
+   * @param name pool name, usually transactional schema, used for error reporting,
+   * @param factory resource managers factory,
+   * @param maxSize maximum number of resource managers, both idle and borrowed.
+   * @throws IllegalArgumentException if maximum size is not strictly positive.
+   */
+  public ResourcePool(String name, Factory<R> factory, int maxSize)
+  {
+    if(maxSize <= 0) {
+      throw new IllegalArgumentException("Pool maximum size should be strictly positive.");
+    }
+    this.name = name;
+    this.factory = factory;
+    this.maxSize = maxSize;
+
+    int stripesCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1);
+    this.stripes = new ArrayList<>(stripesCount);
+    for(int i = 0; i < stripesCount; ++i) {
+      this.stripes.add(new ConcurrentLinkedQueue<>());
+    }
+    this.stripesMask = stripesCount - 1;
+    this.permits = new Semaphore(maxSize);
+  }
+
+  /** Set the number of idle resource managers created by {@link #warmUp()}. Default to zero. */
+  public void setMinIdle(int minIdle)
+  {
+    this.minIdle = Math.min(minIdle, maxSize);
+  }
+
+  /** Set maximum time borrow waits for a resource manager when pool is exhausted. Default to 30 seconds. */
+  public void setBorrowTimeout(Duration borrowTimeout)
+  {
+    this.borrowTimeout = borrowTimeout.toNanos();
+  }
+
+  /** Enable or disable resource manager validation on borrow. Default to true. */
+  public void setValidateOnBorrow(boolean validateOnBorrow)
+  {
+    this.validateOnBorrow = validateOnBorrow;
+  }
+
+  /**
+   * Create idle resource managers till minimum idle count is reached, spreading them over stripes. Designed to be
+   * invoked at startup, in order to take resource managers creation out of first transactions critical path.
+   * 
+   * @throws TransactionException if resource manager creation fails.
+   */
+  public void warmUp()
+  {
+    for(int i = 0; !closed && idleCount.get() < minIdle && reserve(); ++i) {
+      R resourceManager = create();
+      stripes.get(i & stripesMask).add(resourceManager);
+      idleCount.incrementAndGet();
+    }
+    if(closed) {
+      // pool closed concurrently, possibly before resource managers created above were added
+      close();
+    }
+  }
+
+  /**
+   * Borrow resource manager from pool, creating a new one if there is no idle resource manager and pool is not at
+   * maximum size. Borrowed resource manager should be returned with {@link #release(Object)} or, if broken,
+   * {@link #invalidate(Object)}.
+   * 
+   * @return resource manager.
+   * @throws TransactionException if pool is exhausted for longer than borrow timeout or resource manager creation fails.
+   * @throws IllegalStateException if pool is closed.
+   */
+  public R borrow()
+  {
+    if(closed) {
+      throw new IllegalStateException("Resource pool closed: " + name);
+    }
+    borrowCount.increment();
+    if(!permits.tryAcquire()) {
+      waitCount.increment();
+      long startTimestamp = System.nanoTime();
+      boolean acquired;
+      try {
+        acquired = permits.tryAcquire(borrowTimeout, TimeUnit.NANOSECONDS);
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TransactionException("Interrupted while waiting for resource pool %s.", name);
+      }
+      finally {
+        waitTime.add(System.nanoTime() - startTimestamp);
+      }
+      if(!acquired) {
+        exhaustedCount.increment();
+        throw new TransactionException("Resource pool %s exhausted.", name);
+      }
+    }
+
+    try {
+      long deadline = System.nanoTime() + borrowTimeout;
+      for(;;) {
+        if(closed) {
+          throw new IllegalStateException("Resource pool closed: " + name);
+        }
+        R resourceManager = pollIdle();
+        if(resourceManager != null) {
+          return resourceManager;
+        }
+        if(reserve()) {
+          resourceManager = create();
+          if(closed) {
+            // close already drained idle resource managers and will not see this one
+            destroy(resourceManager);
+            throw new IllegalStateException("Resource pool closed: " + name);
+          }
+          return resourceManager;
+        }
+        // pool at maximum size while holding a permit means an idle resource manager is about to be returned
+        if(System.nanoTime() - deadline > 0) {
+          exhaustedCount.increment();
+          throw new TransactionException("Resource pool %s exhausted.", name);
+        }
+        LockSupport.parkNanos(IDLE_WAIT);
+      }
+    }
+    catch(RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /** Poll idle resource manager starting with current thread stripe, or return null if none. */
+  private R pollIdle()
+  {
+    int stripeIndex = stripeIndex();
+    for(int i = 0; i < stripes.size(); ++i) {
+      R resourceManager;
+      while((resourceManager = stripes.get((stripeIndex + i) & stripesMask).poll()) != null) {
+        idleCount.decrementAndGet();
+        if(!validateOnBorrow || isValid(resourceManager)) {
+          return resourceManager;
+        }
+        destroy(resourceManager);
+      }
+    }
+    return null;
+  }
+
+  /** Reserve room for a new resource manager, returning false if pool is at maximum size. */
+  private boolean reserve()
+  {
+    for(;;) {
+      int current = size.get();
+      if(current >= maxSize) {
+        return false;
+      }
+      if(size.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Return borrowed resource manager to pool. If pool is closed resource manager is destroyed.
+   * 
+   * @param resourceManager borrowed resource manager.
+   */
+  public void release(R resourceManager)
+  {
+    if(closed) {
+      destroy(resourceManager);
+    }
+    else {
+      stripes.get(stripeIndex()).add(resourceManager);
+      idleCount.incrementAndGet();
+      if(closed) {
+        // pool closed concurrently, possibly before resource manager was added
+        close();
+      }
+    }
+    permits.release();
+  }
+
+  /**
+   * Destroy borrowed resource manager known to be broken, instead of returning it to pool.
+   * 
+   * @param resourceManager borrowed resource manager.
+   */
+  public void invalidate(R resourceManager)
+  {
+    destroy(resourceManager);
+    permits.release();
+  }
+
+  /**
+   * Destroy idle resource managers and reject further borrows. Borrowed resource managers are destroyed on release. It
+   * is safe to close a pool multiple times.
+   */
+  @Override
+  public void close()
+  {
+    closed = true;
+    for(Queue<R> stripe : stripes) {
+      R resourceManager;
+      while((resourceManager = stripe.poll()) != null) {
+        idleCount.decrementAndGet();
+        destroy(resourceManager);
+      }
+    }
+  }
+
+  private int stripeIndex()
+  {
+    long threadId = Thread.currentThread().getId();
+    return (int)(threadId ^ (threadId >>> 16)) & stripesMask;
+  }
+
+  /** Create resource manager for which room was already reserved; reservation is cancelled if creation fails. */
+  private R create()
+  {
+    try {
+      R resourceManager = factory.create();
+      createdCount.increment();
+      return resourceManager;
+    }
+    catch(TransactionException e) {
+      size.decrementAndGet();
+      throw e;
+    }
+    catch(Exception e) {
+      size.decrementAndGet();
+      throw new TransactionException(e);
+    }
+  }
+
+  private boolean isValid(R resourceManager)
+  {
+    try {
+      return factory.validate(resourceManager);
+    }
+    catch(RuntimeException e) {
+      return false;
+    }
+  }
+
+  private void destroy(R resourceManager)
+  {
+    size.decrementAndGet();
+    destroyedCount.increment();
+    try {
+      factory.destroy(resourceManager);
+    }
+    catch(RuntimeException ignored) {
+      // resource manager is discarded anyway
+    }
+  }
+
+  public String getName()
+  {
+    return name;
+  }
+
+  public int getMaxSize()
+  {
+    return maxSize;
+  }
+
+  /** Current number of resource managers, both idle and borrowed. */
+  public int getSize()
+  {
+    return size.get();
+  }
+
+  /** Current number of idle resource managers. */
+  public int getIdleCount()
+  {
+    return idleCount.get();
+  }
+
+  /** Current number of borrowed resource managers. */
+  public int getActiveCount()
+  {
+    return maxSize - permits.availablePermits();
+  }
+
+  /** Total number of borrow requests. */
+  public long getBorrowCount()
+  {
+    return borrowCount.sum();
+  }
+
+  /** Number of borrow requests that had to wait because pool was at maximum size. */
+  public long getWaitCount()
+  {
+    return waitCount.sum();
+  }
+
+  /** Total time, in nanoseconds, spent by borrow requests waiting for a resource manager. */
+  public long getWaitTime()
+  {
+    return waitTime.sum();
+  }
+
+  /** Number of borrow requests failed because pool was exhausted for longer than borrow timeout. */
+  public long getExhaustedCount()
+  {
+    return exhaustedCount.sum();
+  }
+
+  /** Total number of created resource managers. */
+  public long getCreatedCount()
+  {
+    return createdCount.sum();
+  }
+
+  /** Total number of destroyed resource managers, including the ones failing validation. */
+  public long getDestroyedCount()
+  {
+    return destroyedCount.sum();
+  }
+}
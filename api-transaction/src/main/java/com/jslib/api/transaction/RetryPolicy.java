@@ -0,0 +1,176 @@
+package com.jslib.api.transaction;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Retry policy for working units failing with transient errors, that is, errors that are likely to not occur again on a
+ * new transaction. By default transient errors are serialization failures, deadlocks and optimistic lock failures, see
+ * {@link #isTransient(Throwable)}. Failed working unit is executed again, in a new transaction, after a jittered
+ * exponential backoff: delay before retry <code>n</code> is a random value between zero and
+ * <code>min(maxDelay, delay * 2^n)</code>.
+ * 
+ * Retries are limited by maximum attempts per execution and by a retry budget shared by all executions using this
+ * policy: every execution deposits a fraction of a retry token, and every retry consumes one. When budget is exhausted
+ * failures are not retried anymore, so that retries do not amplify load on an already overloaded resource.
+ * 
+ * Retry policy can be configured per schema, see {@link RetryingTransactionManager}, or per transactional method, see
+ * {@link Retryable}. Retry policy is thread safe.
+ * 
+ * @author Iulian Rotaru
+ */
+public class RetryPolicy
+{
+  /** Budget token scale, to keep fractional tokens on integer arithmetic. */
+  private static final long TOKEN = 1000;
+
+  private volatile int maxAttempts = 3;
+  private volatile long delay = TimeUnit.MILLISECONDS.toNanos(10);
+  private volatile long maxDelay = TimeUnit.SECONDS.toNanos(1);
+  private volatile long budgetDeposit = TOKEN / 5;
+  private volatile long maxBudget = 100 * TOKEN;
+  private volatile Predicate<Throwable> classifier = RetryPolicy::isTransient;
+
+  private final AtomicLong budget = new AtomicLong(10 * TOKEN);
+
+  public RetryPolicy()
+  {
+  }
+
+  /** Create retry policy from method annotation. */
+  public RetryPolicy(Retryable retryable)
+  {
+    setMaxAttempts(retryable.maxAttempts());
+    setDelay(Duration.ofMillis(retryable.delay()));
+    setMaxDelay(Duration.ofMillis(retryable.maxDelay()));
+  }
+
+  /** Set maximum attempts per execution, including the first one. Default to 3. */
+  public void setMaxAttempts(int maxAttempts)
+  {
+    this.maxAttempts = maxAttempts;
+  }
+
+  /** Set base backoff delay. Default to 10 milliseconds. */
+  public void setDelay(Duration delay)
+  {
+    this.delay = delay.toNanos();
+  }
+
+  /** Set maximum backoff delay. Default to one second. */
+  public void setMaxDelay(Duration maxDelay)
+  {
+    this.maxDelay = maxDelay.toNanos();
+  }
+
+  /**
+   * Set retry budget as ratio of retries to executions, e.g. 0.2 allows in average one retry for every five executions,
+   * and maximum number of retry tokens accumulated while there are no failures. Default to 0.2, respective 100.
+   * 
+   * @param ratio retries to executions ratio,
+   * @param maxTokens maximum accumulated retry tokens.
+   */
+  public void setBudget(double ratio, int maxTokens)
+  {
+    this.budgetDeposit = (long)(ratio * TOKEN);
+    this.maxBudget = maxTokens * TOKEN;
+  }
+
+  /** Set transient errors classifier. Default to {@link #isTransient(Throwable)}. */
+  public void setClassifier(Predicate<Throwable> classifier)
+  {
+    this.classifier = classifier;
+  }
+
+  /**
+   * Execute callable, retrying it accordingly this policy if it fails with a transient error. Callable should create
+   * its own transaction so that every attempt runs on a new transaction.
+   * 
+   * @param callable transactional callable,
+   * @param metrics optional schema metrics used to record retries, null if not used.
+   * @return callable value.
+   * @throws Exception last callable exception if not transient, attempts are exhausted or retry budget is exhausted.
+   */
+  public <T> T call(Callable<T> callable, SchemaMetrics metrics) throws Exception
+  {
+    deposit();
+    for(int attempt = 1;; ++attempt) {
+      try {
+        return callable.call();
+      }
+      catch(Exception e) {
+        if(attempt >= maxAttempts || !classifier.test(e) || !withdraw()) {
+          throw e;
+        }
+        if(metrics != null) {
+          metrics.recordRetry();
+        }
+        backoff(attempt);
+      }
+    }
+  }
+
+  private void deposit()
+  {
+    long maxBudget = this.maxBudget;
+    long current;
+    while((current = budget.get()) < maxBudget && !budget.compareAndSet(current, Math.min(maxBudget, current + budgetDeposit))) {
+    }
+  }
+
+  private boolean withdraw()
+  {
+    long current;
+    do {
+      current = budget.get();
+      if(current < TOKEN) {
+        return false;
+      }
+    }
+    while(!budget.compareAndSet(current, current - TOKEN));
+    return true;
+  }
+
+  private void backoff(int attempt) throws InterruptedException
+  {
+    long ceiling = Math.min(maxDelay, delay << Math.min(attempt - 1, 30));
+    if(ceiling > 0) {
+      TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+  }
+
+  /**
+   * Default transient errors classifier. Inspect exception causes chain and return true if found a transient SQL
+   * exception, a SQL exception with SQL state class <code>40</code> - transaction rollback, that includes serialization
+   * failures and deadlocks, or an optimistic lock exception.
+   * 
+   * @param exception exception to classify.
+   * @return true if exception is transient.
+   */
+  public static boolean isTransient(Throwable exception)
+  {
+    for(Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if(cause instanceof SQLTransientException) {
+        return true;
+      }
+      if(cause instanceof SQLException) {
+        String state = ((SQLException)cause).getSQLState();
+        if(state != null && state.startsWith("40")) {
+          return true;
+        }
+      }
+      // persistence engines exceptions are not on class path; match them by name
+      String name = cause.getClass().getSimpleName();
+      if(name.equals("OptimisticLockException") || name.equals("StaleObjectStateException")) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
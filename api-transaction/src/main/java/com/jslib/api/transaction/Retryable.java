@@ -0,0 +1,42 @@
+package com.jslib.api.transaction;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retry transactional method when it fails with a transient error, e.g. serialization failure or deadlock. Applied on
+ * class, all transactional methods are retried; method annotation takes precedence over class one. Transactional
+ * method is executed again, in a new transaction, with jittered exponential backoff, see {@link RetryPolicy}.
+ * 
+ * <pre>
+ *  &#064;Transactional
+ *  class DaoImpl implements Dao {
+ *      &#064;Retryable(maxAttempts = 5)
+ *      public void updateStock(Item item, int quantity) {
+ *      }
+ *  }
+ * </pre>
+ * 
+ * Since transactional method may be executed multiple times it should not have side effects outside transactional
+ * resource. Retry applies only to outermost transactional method; a nested method failure is retried by the outermost
+ * one.
+ * 
+ * @author Iulian Rotaru
+ */
+@Target(
+{
+    ElementType.TYPE, ElementType.METHOD
+})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Retryable {
+  /** Maximum number of attempts, including the first one. */
+  int maxAttempts() default 3;
+
+  /** Base backoff delay, in milliseconds, doubled on every retry. */
+  long delay() default 10;
+
+  /** Maximum backoff delay, in milliseconds. */
+  long maxDelay() default 1000;
+}
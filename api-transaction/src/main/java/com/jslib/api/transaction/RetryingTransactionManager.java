@@ -0,0 +1,95 @@
+package com.jslib.api.transaction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Transaction manager decorator that retries programmatic working units failing with transient errors, accordingly
+ * {@link RetryPolicy} configured per schema. Schemas without configured policy use default policy, if any. Retries are
+ * recorded on transaction metrics, if configured.
+ * 
+ * <pre>
+ * RetryingTransactionManager manager = new RetryingTransactionManager(delegate);
+ * manager.setRetryPolicy("orders", new RetryPolicy());
+ * </pre>
+ * 
+ * Note that only {@link #exec(String, WorkingUnit, Object...)} is retried and only when it starts the outermost
+ * transaction; a working unit joining an enclosing transaction is not retried since enclosing transaction is rolled
+ * back anyway. Transactions created explicitly and working units executed by other methods are forwarded to decorated
+ * manager and are not under this decorator control.
+ * 
+ * @author Iulian Rotaru
+ */
+public class RetryingTransactionManager extends DelegatingTransactionManager
+{
+  private static final String DEFAULT_SCHEMA = "";
+
+  private final Map<String, RetryPolicy> policies = new ConcurrentHashMap<>();
+
+  private volatile RetryPolicy defaultPolicy;
+  private volatile TransactionMetrics metrics;
+
+  public RetryingTransactionManager(TransactionManager manager)
+  {
+    super(manager);
+  }
+
+  /**
+   * Set retry policy for given schema.
+   * 
+   * @param schema transactional schema, null for default / global schema,
+   * @param policy retry policy, null to remove schema policy.
+   */
+  public void setRetryPolicy(String schema, RetryPolicy policy)
+  {
+    String key = schema != null ? schema : DEFAULT_SCHEMA;
+    if(policy != null) {
+      policies.put(key, policy);
+    }
+    else {
+      policies.remove(key);
+    }
+  }
+
+  /** Set retry policy for schemas without explicit policy. Default to null, that is, no retry. */
+  public void setDefaultRetryPolicy(RetryPolicy defaultPolicy)
+  {
+    this.defaultPolicy = defaultPolicy;
+  }
+
+  /** Set transaction metrics used to record retries. Optional. */
+  public void setMetrics(TransactionMetrics metrics)
+  {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public <R, T> T exec(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    RetryPolicy policy = policies.getOrDefault(schema != null ? schema : DEFAULT_SCHEMA, defaultPolicy);
+    if(policy == null || manager.getCurrentTransaction(schema) != null) {
+      return manager.exec(schema, workingUnit, args);
+    }
+    TransactionMetrics metrics = this.metrics;
+    try {
+      return policy.call(() -> manager.exec(schema, workingUnit, args), metrics != null ? metrics.schema(schema) : null);
+    }
+    catch(TransactionException e) {
+      throw e;
+    }
+    catch(InterruptedException e) {
+      // interrupted while waiting for backoff
+      Thread.currentThread().interrupt();
+      throw new TransactionException(e);
+    }
+    catch(Exception e) {
+      throw new TransactionException(e);
+    }
+  }
+
+  @Override
+  public <R, T> T exec(WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return exec(null, workingUnit, args);
+  }
+}
@@ -0,0 +1,315 @@
+package com.jslib.api.transaction;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transaction metrics for a single transactional schema, obtained from {@link TransactionMetrics#schema(String)}.
+ * Transaction manager implementations, or {@link MetricsTransactionManager} decorator, invoke {@link #begin(boolean)}
+ * when a transaction is created and conclude returned probe on commit, rollback and close. All counters are lock free
+ * or striped.
+ * 
+ * Long running transaction detection is enabled when threshold is positive, see
+ * {@link TransactionMetrics#setLongRunningThreshold(long)}; active transactions are then tracked and, if stack capture
+ * is enabled, the stack where each transaction started is recorded.
+ * 
+ * @author Iulian Rotaru
+ */
+public class SchemaMetrics implements SchemaMetricsMXBean
+{
+  private final String schema;
+  private final TransactionMetrics registry;
+
+  private final LatencyHistogram commitLatency = new LatencyHistogram();
+  private final LatencyHistogram rollbackLatency = new LatencyHistogram();
+  private final LatencyHistogram resourceWait = new LatencyHistogram();
+
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final AtomicInteger peakActiveCount = new AtomicInteger();
+  private final LongAdder readOnlyCount = new LongAdder();
+  private final LongAdder readWriteCount = new LongAdder();
+  private final LongAdder retryCount = new LongAdder();
+
+  private final AtomicLong probeId = new AtomicLong();
+  private final Map<Long, Probe> activeProbes = new ConcurrentHashMap<>();
+
+  SchemaMetrics(String schema, TransactionMetrics registry)
+  {
+    this.schema = schema;
+    this.registry = registry;
+  }
+
+  public String getSchema()
+  {
+    return schema;
+  }
+
+  /**
+   * Record transaction begin and return probe used to record transaction outcome.
+   * 
+   * @param readOnly true if transaction is read-only.
+   * @return transaction probe.
+   */
+  public Probe begin(boolean readOnly)
+  {
+    if(readOnly) {
+      readOnlyCount.increment();
+    }
+    else {
+      readWriteCount.increment();
+    }
+    int active = activeCount.incrementAndGet();
+    int peak;
+    while(active > (peak = peakActiveCount.get()) && !peakActiveCount.compareAndSet(peak, active)) {
+    }
+
+    Probe probe = new Probe();
+    if(registry.getLongRunningThreshold() > 0) {
+      probe.id = probeId.incrementAndGet();
+      probe.thread = Thread.currentThread().getName();
+      if(registry.isCaptureStacks()) {
+        probe.stack = new Throwable("Transaction started on schema " + schema);
+      }
+      activeProbes.put(probe.id, probe);
+    }
+    return probe;
+  }
+
+  /** Record time spent waiting for a resource manager, in nanoseconds. */
+  public void recordResourceWait(long nanos)
+  {
+    resourceWait.record(nanos);
+  }
+
+  /** Record a working unit retry, see {@link RetryPolicy}. */
+  public void recordRetry()
+  {
+    retryCount.increment();
+  }
+
+  public LatencyHistogram getCommitLatency()
+  {
+    return commitLatency;
+  }
+
+  public LatencyHistogram getRollbackLatency()
+  {
+    return rollbackLatency;
+  }
+
+  public LatencyHistogram getResourceWait()
+  {
+    return resourceWait;
+  }
+
+  @Override
+  public long getCommitCount()
+  {
+    return commitLatency.getCount();
+  }
+
+  @Override
+  public long getCommitLatencyMean()
+  {
+    return micros(commitLatency.getMean());
+  }
+
+  @Override
+  public long getCommitLatencyP99()
+  {
+    return micros(commitLatency.getPercentile(99));
+  }
+
+  @Override
+  public long getCommitLatencyMax()
+  {
+    return micros(commitLatency.getMax());
+  }
+
+  @Override
+  public long getRollbackCount()
+  {
+    return rollbackLatency.getCount();
+  }
+
+  @Override
+  public long getRollbackLatencyMean()
+  {
+    return micros(rollbackLatency.getMean());
+  }
+
+  @Override
+  public long getRollbackLatencyP99()
+  {
+    return micros(rollbackLatency.getPercentile(99));
+  }
+
+  @Override
+  public long getResourceWaitMean()
+  {
+    return micros(resourceWait.getMean());
+  }
+
+  @Override
+  public long getResourceWaitMax()
+  {
+    return micros(resourceWait.getMax());
+  }
+
+  @Override
+  public int getActiveCount()
+  {
+    return activeCount.get();
+  }
+
+  @Override
+  public int getPeakActiveCount()
+  {
+    return peakActiveCount.get();
+  }
+
+  @Override
+  public long getReadOnlyCount()
+  {
+    return readOnlyCount.sum();
+  }
+
+  @Override
+  public long getReadWriteCount()
+  {
+    return readWriteCount.sum();
+  }
+
+  @Override
+  public long getRetryCount()
+  {
+    return retryCount.sum();
+  }
+
+  /**
+   * Get active transactions running longer than configured threshold. Returns empty list if long running detection is
+   * disabled.
+   * 
+   * @return long running transactions, possible empty.
+   */
+  public List<Probe> getLongRunning()
+  {
+    List<Probe> probes = new ArrayList<>();
+    long threshold = registry.getLongRunningThreshold();
+    if(threshold <= 0) {
+      return probes;
+    }
+    long now = System.nanoTime();
+    for(Probe probe : activeProbes.values()) {
+      if(now - probe.startTimestamp > threshold) {
+        probes.add(probe);
+      }
+    }
+    return probes;
+  }
+
+  @Override
+  public List<String> getLongRunningTransactions()
+  {
+    List<String> descriptions = new ArrayList<>();
+    for(Probe probe : getLongRunning()) {
+      descriptions.add(probe.toString());
+    }
+    return descriptions;
+  }
+
+  @Override
+  public void reset()
+  {
+    commitLatency.reset();
+    rollbackLatency.reset();
+    resourceWait.reset();
+    peakActiveCount.set(activeCount.get());
+    readOnlyCount.reset();
+    readWriteCount.reset();
+    retryCount.reset();
+  }
+
+  private static long micros(long nanos)
+  {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+  /**
+   * Transaction probe created by {@link SchemaMetrics#begin(boolean)}. Probe methods are not thread safe and should be
+   * invoked from the thread owning the transaction.
+   * 
+   * @author Iulian Rotaru
+   */
+  public class Probe
+  {
+    private final long startTimestamp = System.nanoTime();
+    private long id;
+    private String thread;
+    private Throwable stack;
+    private boolean closed;
+
+    /** Record transaction commit latency, measured from begin. */
+    public void commit()
+    {
+      commitLatency.record(System.nanoTime() - startTimestamp);
+    }
+
+    /** Record transaction rollback latency, measured from begin. */
+    public void rollback()
+    {
+      rollbackLatency.record(System.nanoTime() - startTimestamp);
+    }
+
+    /** Record transaction close. Closing a probe multiple times has no effect. */
+    public void close()
+    {
+      if(closed) {
+        return;
+      }
+      closed = true;
+      activeCount.decrementAndGet();
+      if(id != 0) {
+        activeProbes.remove(id);
+      }
+    }
+
+    /** Transaction duration so far, in nanoseconds. */
+    public long getDuration()
+    {
+      return System.nanoTime() - startTimestamp;
+    }
+
+    /** Name of the thread that started transaction or null if long running detection is disabled. */
+    public String getThread()
+    {
+      return thread;
+    }
+
+    /** Exception capturing the stack where transaction started or null if stack capture is disabled. */
+    public Throwable getStack()
+    {
+      return stack;
+    }
+
+    @Override
+    public String toString()
+    {
+      String description = String.format("Transaction on schema %s, thread %s, running for %d ms.", schema, thread, TimeUnit.NANOSECONDS.toMillis(getDuration()));
+      if(stack == null) {
+        return description;
+      }
+      StringWriter writer = new StringWriter();
+      stack.printStackTrace(new PrintWriter(writer));
+      return description + System.lineSeparator() + writer;
+    }
+  }
+}
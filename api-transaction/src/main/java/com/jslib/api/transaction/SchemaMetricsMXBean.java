@@ -0,0 +1,46 @@
+package com.jslib.api.transaction;
+
+import java.util.List;
+
+/**
+ * Management interface for transaction metrics of a schema, see {@link TransactionMetrics#register()}. Latencies are
+ * reported in microseconds.
+ * 
+ * @author Iulian Rotaru
+ */
+public interface SchemaMetricsMXBean
+{
+  long getCommitCount();
+
+  long getCommitLatencyMean();
+
+  long getCommitLatencyP99();
+
+  long getCommitLatencyMax();
+
+  long getRollbackCount();
+
+  long getRollbackLatencyMean();
+
+  long getRollbackLatencyP99();
+
+  long getResourceWaitMean();
+
+  long getResourceWaitMax();
+
+  int getActiveCount();
+
+  int getPeakActiveCount();
+
+  long getReadOnlyCount();
+
+  long getReadWriteCount();
+
+  long getRetryCount();
+
+  /** Descriptions of transactions running longer than threshold, including start stack if captured. */
+  List<String> getLongRunningTransactions();
+
+  /** Reset counters and histograms; active count is not affected. */
+  void reset();
+}
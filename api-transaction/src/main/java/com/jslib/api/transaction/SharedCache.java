@@ -0,0 +1,320 @@
+package com.jslib.api.transaction;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared, second level cache for {@link Immutable} methods results, used by {@link TransactionFactory}
+ * implementations. Unlike {@link InvocationCache}, this cache is shared by all transactions and is enabled only for
+ * immutable methods declaring {@link CacheTags}. Results are keyed by schema, method and arguments and are evicted
+ * when cache size limit is reached, oldest first, or when time to live expires.
+ * 
+ * Cached results are invalidated by tags declared by {@link Mutable} methods, only when their transaction commits:
+ * mutable method registers its tags with {@link #mark(String[])} and, after outermost transaction commit,
+ * implementation calls {@link #commit()}; on rollback it calls {@link #rollback()} that discards registered tags. A
+ * result computed by a transaction started before an invalidation of one of its tags is not stored, see
+ * {@link #version()}.
+ * <p>
+ * While current thread transaction has registered tags, cache is bypassed for results sharing any of them: lookups
+ * miss, since cached results do not reflect transaction own writes, and results are not stored, since they may reflect
+ * uncommitted writes. Other results stored by a transaction with registered tags are removed if transaction rolls back.
+ * 
+ * <pre>
+ * // immutable method with cache tags
+ * Object value = cache.get(schema, method, args);
+ * if(value == SharedCache.MISS) {
+ *   long version = cache.version();
+ *   value = invokeInTransaction(method, args);
+ *   cache.put(schema, method, args, tags, value, version);
+ * }
+ * 
+ * // mutable method with cache tags
+ * cache.mark(tags);
+ * ...
+ * transaction.commit();
+ * if(transaction.close()) {
+ *   cache.commit();
+ * }
+ * </pre>
+ * 
+ * Shared cache is thread safe; lookups are lock free.
+ * 
+ * @author Iulian Rotaru
+ */
+public class SharedCache
+{
+  /** Value returned by {@link #get(String, Method, Object[])} for cache miss, since null is a valid method result. */
+  public static final Object MISS = InvocationCache.MISS;
+
+  private final int maxSize;
+  private final long timeToLive;
+
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicInteger queued = new AtomicInteger();
+
+  /** Global invalidation version, incremented on every invalidation. */
+  private final AtomicLong version = new AtomicLong();
+  /** Version of the last invalidation for every tag. */
+  private final Map<String, Long> tagVersions = new ConcurrentHashMap<>();
+
+  private final ThreadLocal<Set<String>> pendingTags = ThreadLocal.withInitial(HashSet::new);
+  /** Entries stored by current thread transaction after it registered tags, removed on rollback. */
+  private final ThreadLocal<List<Entry>> pendingEntries = ThreadLocal.withInitial(ArrayList::new);
+
+  /**
+   * Create shared cache instance.
+   * 
+   * @param maxSize maximum number of cached results,
+   * @param timeToLive cached result time to live.
+   */
+  public SharedCache(int maxSize, Duration timeToLive)
+  {
+    this.maxSize = maxSize;
+    this.timeToLive = timeToLive.toNanos();
+  }
+
+  /**
+   * Get cached result for method invocation on given schema. Returns {@link #MISS} if result is not cached, is expired,
+   * one of its tags was invalidated after result was computed or is registered by current thread transaction.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param method invoked method,
+   * @param args invocation arguments, possible null.
+   * @return cached result, possible null, or {@link #MISS}.
+   */
+  public Object get(String schema, Method method, Object[] args)
+  {
+    Key key = new Key(schema, method, args);
+    Entry entry = entries.get(key);
+    if(entry == null) {
+      return MISS;
+    }
+    if(System.nanoTime() - entry.expiration > 0 || isStale(entry.tags, entry.version)) {
+      remove(entry);
+      return MISS;
+    }
+    if(isPending(entry.tags)) {
+      return MISS;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Get current invalidation version. Caller should get version before executing method and pass it to
+   * {@link #put(String, Method, Object[], String[], Object, long)}.
+   * 
+   * @return current invalidation version.
+   */
+  public long version()
+  {
+    return version.get();
+  }
+
+  /**
+   * Store method invocation result. Result is not stored if any of its tags was invalidated after given version was
+   * taken, since result may reflect data changed meanwhile, or is registered by current thread transaction, since
+   * result may reflect uncommitted writes. Arguments array is copied so that caller can reuse it.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param method invoked method,
+   * @param args invocation arguments, possible null,
+   * @param tags data dependency tags declared by method,
+   * @param value invocation result, possible null,
+   * @param version invalidation version taken before method execution.
+   */
+  public void put(String schema, Method method, Object[] args, String[] tags, Object value, long version)
+  {
+    if(isStale(tags, version) || isPending(tags)) {
+      return;
+    }
+    Entry entry = new Entry(new Key(schema, method, args != null ? args.clone() : null), tags, value, version, System.nanoTime() + timeToLive);
+    Entry previous = entries.put(entry.key, entry);
+    if(previous == null) {
+      size.incrementAndGet();
+    }
+    insertionOrder.add(entry);
+    queued.incrementAndGet();
+    if(!pendingTags.get().isEmpty()) {
+      pendingEntries.get().add(entry);
+    }
+    evict();
+  }
+
+  /**
+   * Register tags altered by a mutable method executed on current thread transaction. Tags are invalidated on
+   * {@link #commit()} and discarded on {@link #rollback()}.
+   * 
+   * @param tags data dependency tags declared by mutable method.
+   */
+  public void mark(String[] tags)
+  {
+    pendingTags.get().addAll(Arrays.asList(tags));
+  }
+
+  /** Invalidate tags registered by current thread transaction. Invoke after outermost transaction commit. */
+  public void commit()
+  {
+    Set<String> tags = pendingTags.get();
+    if(!tags.isEmpty()) {
+      invalidate(tags);
+    }
+    pendingTags.remove();
+    pendingEntries.remove();
+  }
+
+  /**
+   * Discard tags registered by current thread transaction, without invalidation, and remove results stored by
+   * transaction after it registered tags.
+   */
+  public void rollback()
+  {
+    for(Entry entry : pendingEntries.get()) {
+      remove(entry);
+    }
+    pendingTags.remove();
+    pendingEntries.remove();
+  }
+
+  /**
+   * Invalidate cached results having at least one of given tags. Invalidated results are removed lazily, on access or
+   * eviction.
+   * 
+   * @param tags data dependency tags.
+   */
+  public void invalidate(Collection<String> tags)
+  {
+    long invalidationVersion = version.incrementAndGet();
+    for(String tag : tags) {
+      tagVersions.merge(tag, invalidationVersion, Math::max);
+    }
+  }
+
+  /** Remove all cached results. */
+  public void clear()
+  {
+    entries.clear();
+    insertionOrder.clear();
+    size.set(0);
+    queued.set(0);
+  }
+
+  /** Test if any of given tags is registered by current thread transaction. */
+  private boolean isPending(String[] tags)
+  {
+    Set<String> pending = pendingTags.get();
+    if(pending.isEmpty()) {
+      return false;
+    }
+    for(String tag : tags) {
+      if(pending.contains(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isStale(String[] tags, long version)
+  {
+    for(String tag : tags) {
+      Long tagVersion = tagVersions.get(tag);
+      if(tagVersion != null && tagVersion > version) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Evict oldest entries while cache size is over limit. Insertion order queue keeps also replaced and removed entries;
+   * they are purged when queue grows over twice the size limit.
+   */
+  private void evict()
+  {
+    while(size.get() > maxSize || queued.get() > 2 * maxSize) {
+      Entry entry = insertionOrder.poll();
+      if(entry == null) {
+        return;
+      }
+      queued.decrementAndGet();
+      if(size.get() <= maxSize && entries.get(entry.key) == entry) {
+        // live entry polled only to purge the queue; keep it
+        insertionOrder.add(entry);
+        queued.incrementAndGet();
+        continue;
+      }
+      remove(entry);
+    }
+  }
+
+  private void remove(Entry entry)
+  {
+    if(entries.remove(entry.key, entry)) {
+      size.decrementAndGet();
+    }
+  }
+
+  private static class Entry
+  {
+    final Key key;
+    final String[] tags;
+    final Object value;
+    final long version;
+    final long expiration;
+
+    Entry(Key key, String[] tags, Object value, long version, long expiration)
+    {
+      this.key = key;
+      this.tags = tags;
+      this.value = value;
+      this.version = version;
+      this.expiration = expiration;
+    }
+  }
+
+  private static class Key
+  {
+    private final String schema;
+    private final Method method;
+    private final Object[] args;
+    private final int hashCode;
+
+    Key(String schema, Method method, Object[] args)
+    {
+      this.schema = schema;
+      this.method = method;
+      this.args = args;
+      this.hashCode = 31 * (31 * Objects.hashCode(schema) + method.hashCode()) + Arrays.deepHashCode(args);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if(this == obj) return true;
+      if(obj == null) return false;
+      if(getClass() != obj.getClass()) return false;
+      Key other = (Key)obj;
+      return Objects.equals(schema, other.schema) && method.equals(other.method) && Arrays.deepEquals(args, other.args);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.jslib.api.transaction;
+
+import java.util.stream.Stream;
+
+/**
+ * Streaming variant of {@link WorkingUnit} that returns a lazily populated stream instead of a fully materialized
+ * value. This interface is designed to work with
+ * {@link TransactionManager#execStream(String, int, StreamingWorkingUnit, Object...)} method and is intended for large
+ * exports that should run in constant memory.
+ * 
+ * <pre>
+ * try (Stream&lt;Person&gt; persons = transactionManager.execStream("core", 1000, (Session session, int fetchSize, Object... args) -&gt; {
+ *   Query&lt;Person&gt; query = session.createQuery("FROM Person", Person.class);
+ *   query.setFetchSize(fetchSize);
+ *   return query.stream();
+ * })) {
+ *   persons.forEach(exporter::write);
+ * }
+ * </pre>
+ * 
+ * Returned stream should be backed by a resource manager cursor, e.g. JDBC result set or JPA query stream, so that
+ * records are fetched from database only when consumer pulls them; this way consumer pace is the natural backpressure.
+ * Stream is consumed while transaction is still open and transaction is closed when stream is closed.
+ * 
+ * @author Iulian Rotaru
+ * @param <R> resource manager
+ * @param <T> stream elements type.
+ */
+public interface StreamingWorkingUnit<R, T>
+{
+  /**
+   * Open a lazily populated stream inside transactional boundaries. Implementation should not materialize stream
+   * elements but fetch them from resource manager on demand, in chunks of given size.
+   * 
+   * @param resourceManager resource manager,
+   * @param fetchSize hint about the number of records to fetch from database in a round trip,
+   * @param args optional, variable numbers of arguments
+   * @return lazily populated stream, not null.
+   * @throws Exception any execution exception is bubbled up.
+   */
+  Stream<T> exec(R resourceManager, int fetchSize, Object... args) throws Exception;
+}
@@ -78,4 +78,72 @@ public interface Transaction
    * @see java.sql.Connection
    */
   <R> R getResourceManager();
+
+  /**
+   * Set the deadline this transaction should be completed by. Implementation should pass remaining time to resource
+   * manager as statement timeout, see {@link Deadline#toStatementTimeout()}, and fail commit with
+   * {@link TransactionTimeoutException} if deadline was exceeded. On a nested transaction, implementation should keep
+   * the earlier of enclosing and nested deadlines, see {@link Deadline#earlier(Deadline, Deadline)}.
+   * <p>
+   * Default implementation ignores deadline; still,
+   * {@link TransactionManager#exec(Deadline, String, WorkingUnit, Object...)} checks it before commit.
+   * 
+   * @param deadline transaction deadline, null for no deadline.
+   */
+  default void setDeadline(Deadline deadline)
+  {
+  }
+
+  /**
+   * Get the deadline this transaction should be completed by.
+   * <p>
+   * Default implementation returns null.
+   * 
+   * @return transaction deadline or null if transaction has no deadline.
+   */
+  default Deadline getDeadline()
+  {
+    return null;
+  }
+
+  /**
+   * Create a savepoint inside this transaction, used by {@link Propagation#NESTED} propagation. Savepoint type depends
+   * on resource manager, e.g. on JDBC is {@link java.sql.Savepoint}.
+   * <p>
+   * Default implementation throws unsupported operation.
+   * 
+   * @return newly created savepoint.
+   * @throws TransactionException if savepoint creation fails.
+   * @throws UnsupportedOperationException if implementation does not support savepoints.
+   */
+  default Object setSavepoint()
+  {
+    throw new UnsupportedOperationException("Savepoints not supported by " + getClass().getName());
+  }
+
+  /**
+   * Rollback changes performed after given savepoint was created. Transaction remains active.
+   * <p>
+   * Default implementation throws unsupported operation.
+   * 
+   * @param savepoint savepoint created by {@link #setSavepoint()}.
+   * @throws TransactionException if rollback fails.
+   * @throws UnsupportedOperationException if implementation does not support savepoints.
+   */
+  default void rollback(Object savepoint)
+  {
+    throw new UnsupportedOperationException("Savepoints not supported by " + getClass().getName());
+  }
+
+  /**
+   * Release given savepoint; changes performed after savepoint creation remain part of this transaction.
+   * <p>
+   * Default implementation does nothing.
+   * 
+   * @param savepoint savepoint created by {@link #setSavepoint()}.
+   * @throws TransactionException if release fails.
+   */
+  default void releaseSavepoint(Object savepoint)
+  {
+  }
 }
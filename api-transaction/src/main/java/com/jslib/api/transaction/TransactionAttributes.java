@@ -0,0 +1,265 @@
+package com.jslib.api.transaction;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transaction attributes of a method, resolved once from {@link Transactional}, {@link Immutable}, {@link Mutable},
+ * {@link CacheTags}, {@link Retryable} and {@link WriteBehind} annotations declared on implementation class and its
+ * methods. Designed for {@link TransactionFactory} implementations, so that proxies do not scan annotations
+ * reflectively on every call.
+ * 
+ * Attributes are resolved for all public methods of an implementation class on first request and cached for class life
+ * span, see {@link #get(Class, Method)}. Lookup accepts both implementation methods and interface methods, e.g. the one
+ * received by {@link java.lang.reflect.InvocationHandler#invoke(Object, Method, Object[])}. A proxy generator can
+ * resolve attributes for all methods when proxy class is generated, see {@link #resolve(Class)}.
+ * 
+ * Resolution rules:
+ * <ul>
+ * <li>method is transactional if it or its class is annotated with {@link Transactional},
+ * <li>schema is the one declared by method {@link Transactional} annotation, if any, otherwise the one declared by
+ * class; empty schema is normalized to null,
+ * <li>propagation and timeout are the ones declared by method {@link Transactional} annotation, if any, otherwise the
+ * ones declared by class; zero method timeout inherits class timeout,
+ * <li>method is read-only if annotated with {@link Immutable} or if its class is annotated with {@link Immutable} and
+ * method is not annotated with {@link Mutable},
+ * <li>method is write-behind if annotated with {@link WriteBehind}; it should be mutable and return void, and its batch
+ * method, if any, should be a public method of implementation class with a single {@link List} parameter.
+ * </ul>
+ * 
+ * Transaction attributes instance is immutable.
+ * 
+ * @author Iulian Rotaru
+ */
+public class TransactionAttributes
+{
+  /** Attributes for non-transactional methods. */
+  public static final TransactionAttributes NONE = new TransactionAttributes(false, null, Propagation.REQUIRED, 0, false, new String[0], null, false, null);
+
+  private static final ClassValue<Map<Method, TransactionAttributes>> cache = new ClassValue<Map<Method, TransactionAttributes>>()
+  {
+    @Override
+    protected Map<Method, TransactionAttributes> computeValue(Class<?> implementationClass)
+    {
+      return resolve(implementationClass);
+    }
+  };
+
+  /**
+   * Get cached transaction attributes for a method of given implementation class.
+   * 
+   * @param implementationClass transactional implementation class,
+   * @param method implementation or interface method.
+   * @return method transaction attributes, {@link #NONE} if method is not transactional.
+   */
+  public static TransactionAttributes get(Class<?> implementationClass, Method method)
+  {
+    return cache.get(implementationClass).getOrDefault(method, NONE);
+  }
+
+  /**
+   * Resolve transaction attributes for all public methods of given implementation class. Returned map contains both
+   * implementation methods and the interface methods they implement. Non-transactional methods are not included.
+   * 
+   * @param implementationClass transactional implementation class.
+   * @return transaction attributes mapped to methods, possible empty.
+   */
+  public static Map<Method, TransactionAttributes> resolve(Class<?> implementationClass)
+  {
+    Map<Method, TransactionAttributes> attributes = new HashMap<>();
+    for(Method method : implementationClass.getMethods()) {
+      if(method.getDeclaringClass() == Object.class || Modifier.isStatic(method.getModifiers())) {
+        continue;
+      }
+      TransactionAttributes methodAttributes = resolve(implementationClass, method);
+      if(methodAttributes.transactional) {
+        attributes.put(method, methodAttributes);
+      }
+    }
+
+    for(Class<?> interfaceClass : interfaces(implementationClass)) {
+      for(Method interfaceMethod : interfaceClass.getMethods()) {
+        try {
+          Method method = implementationClass.getMethod(interfaceMethod.getName(), interfaceMethod.getParameterTypes());
+          TransactionAttributes methodAttributes = attributes.get(method);
+          if(methodAttributes != null) {
+            attributes.put(interfaceMethod, methodAttributes);
+          }
+        }
+        catch(NoSuchMethodException e) {
+          // interface method not implemented by implementation class, e.g. abstract class
+        }
+      }
+    }
+    return Collections.unmodifiableMap(attributes);
+  }
+
+  private static TransactionAttributes resolve(Class<?> implementationClass, Method method)
+  {
+    Transactional classTransactional = implementationClass.getAnnotation(Transactional.class);
+    Transactional methodTransactional = method.getAnnotation(Transactional.class);
+    if(classTransactional == null && methodTransactional == null) {
+      return NONE;
+    }
+
+    String schema = null;
+    if(methodTransactional != null && !methodTransactional.schema().isEmpty()) {
+      schema = methodTransactional.schema();
+    }
+    else if(classTransactional != null && !classTransactional.schema().isEmpty()) {
+      schema = classTransactional.schema();
+    }
+
+    Propagation propagation = methodTransactional != null ? methodTransactional.propagation() : classTransactional.propagation();
+
+    long timeout = 0;
+    if(methodTransactional != null && methodTransactional.timeout() > 0) {
+      timeout = methodTransactional.timeout();
+    }
+    else if(classTransactional != null) {
+      timeout = classTransactional.timeout();
+    }
+
+    boolean readOnly;
+    if(method.isAnnotationPresent(Immutable.class)) {
+      readOnly = true;
+    }
+    else if(method.isAnnotationPresent(Mutable.class)) {
+      readOnly = false;
+    }
+    else {
+      readOnly = implementationClass.isAnnotationPresent(Immutable.class);
+    }
+
+    CacheTags cacheTags = method.getAnnotation(CacheTags.class);
+
+    Retryable retryable = method.getAnnotation(Retryable.class);
+    if(retryable == null) {
+      retryable = implementationClass.getAnnotation(Retryable.class);
+    }
+    RetryPolicy retryPolicy = retryable != null ? new RetryPolicy(retryable) : null;
+
+    boolean writeBehind = false;
+    Method writeBehindBatch = null;
+    WriteBehind writeBehindAnnotation = method.getAnnotation(WriteBehind.class);
+    if(writeBehindAnnotation != null) {
+      if(readOnly || method.getReturnType() != void.class) {
+        throw new IllegalStateException(String.format("Write-behind method |%s| should be mutable and return void.", method));
+      }
+      writeBehind = true;
+      if(!writeBehindAnnotation.batch().isEmpty()) {
+        try {
+          writeBehindBatch = implementationClass.getMethod(writeBehindAnnotation.batch(), List.class);
+        }
+        catch(NoSuchMethodException e) {
+          throw new IllegalStateException(String.format("Missing batch method |%s(List)| for write-behind method |%s|.", writeBehindAnnotation.batch(), method));
+        }
+      }
+    }
+
+    return new TransactionAttributes(true, schema, propagation, timeout, readOnly, cacheTags != null ? cacheTags.value() : NONE.cacheTags, retryPolicy, writeBehind, writeBehindBatch);
+  }
+
+  private static Iterable<Class<?>> interfaces(Class<?> implementationClass)
+  {
+    Set<Class<?>> interfaces = new HashSet<>();
+    for(Class<?> type = implementationClass; type != null; type = type.getSuperclass()) {
+      interfaces.addAll(Arrays.asList(type.getInterfaces()));
+    }
+    return interfaces;
+  }
+
+  private final boolean transactional;
+  private final String schema;
+  private final Propagation propagation;
+  private final long timeout;
+  private final boolean readOnly;
+  private final String[] cacheTags;
+  private final RetryPolicy retryPolicy;
+  private final boolean writeBehind;
+  private final Method writeBehindBatch;
+
+  private TransactionAttributes(boolean transactional, String schema, Propagation propagation, long timeout, boolean readOnly, String[] cacheTags, RetryPolicy retryPolicy, boolean writeBehind, Method writeBehindBatch)
+  {
+    this.transactional = transactional;
+    this.schema = schema;
+    this.propagation = propagation;
+    this.timeout = timeout;
+    this.readOnly = readOnly;
+    this.cacheTags = cacheTags;
+    this.retryPolicy = retryPolicy;
+    this.writeBehind = writeBehind;
+    this.writeBehindBatch = writeBehindBatch;
+  }
+
+  /** Test if method should be executed inside transaction boundaries. */
+  public boolean isTransactional()
+  {
+    return transactional;
+  }
+
+  /** Get transactional schema or null if method uses default / global schema. */
+  public String getSchema()
+  {
+    return schema;
+  }
+
+  /** Get transaction propagation mode. */
+  public Propagation getPropagation()
+  {
+    return propagation;
+  }
+
+  /** Get transaction timeout in milliseconds, zero if method has no timeout. */
+  public long getTimeout()
+  {
+    return timeout;
+  }
+
+  /**
+   * Create deadline for a transaction started now, from transaction timeout.
+   * 
+   * @return transaction deadline or null if method has no timeout.
+   */
+  public Deadline newDeadline()
+  {
+    return timeout > 0 ? Deadline.afterMillis(timeout) : null;
+  }
+
+  /** Test if method should be executed in a read-only transaction. */
+  public boolean isReadOnly()
+  {
+    return readOnly;
+  }
+
+  /** Get method cache tags, empty if method has no {@link CacheTags} annotation. Returned array should not be altered. */
+  public String[] getCacheTags()
+  {
+    return cacheTags;
+  }
+
+  /** Get method retry policy or null if method has no {@link Retryable} annotation. */
+  public RetryPolicy getRetryPolicy()
+  {
+    return retryPolicy;
+  }
+
+  /** Test if method invocations are recorded and flushed later, see {@link WriteBehindBuffer}. */
+  public boolean isWriteBehind()
+  {
+    return writeBehind;
+  }
+
+  /** Get batch method used to flush grouped write-behind invocations, null if invocations are replayed one by one. */
+  public Method getWriteBehindBatch()
+  {
+    return writeBehindBatch;
+  }
+}
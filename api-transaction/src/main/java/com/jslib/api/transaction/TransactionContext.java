@@ -45,4 +45,31 @@ public interface TransactionContext
    * @param <R> auto-cast to resource manager type.
    */
   <R> R getResourceManager();
+
+  /**
+   * Get transaction active on current thread, whose resource manager is returned by {@link #getResourceManager()}. A
+   * transactional method invoked with {@link Propagation#REQUIRED}, {@link Propagation#SUPPORTS} or
+   * {@link Propagation#NESTED} propagation from another transactional method joins this transaction and uses the same
+   * resource manager instead of acquiring a new one.
+   * <p>
+   * Default implementation returns null.
+   * 
+   * @return current transaction or null if there is no transaction active on current thread.
+   */
+  default Transaction getTransaction()
+  {
+    return null;
+  }
+
+  /**
+   * Get the deadline of transaction active on current thread, for cooperative cancellation of long running working
+   * units, see {@link Deadline#check()}.
+   * 
+   * @return current transaction deadline or null if there is no active transaction or it has no deadline.
+   */
+  default Deadline getDeadline()
+  {
+    Transaction transaction = getTransaction();
+    return transaction != null ? transaction.getDeadline() : null;
+  }
 }
@@ -0,0 +1,274 @@
+package com.jslib.api.transaction;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous executor for transactional working units, with bounded concurrency per transactional schema. Working
+ * units are executed by {@link TransactionManager#exec(String, WorkingUnit, Object...)} on configured executor; if
+ * executor is not configured uses {@link #defaultExecutor()}, backed by virtual threads when Java runtime supports them.
+ * 
+ * Every schema may have its own maximum concurrency. When limit is reached working units are queued, without blocking
+ * caller or executor threads, and started when a running working unit of the same schema completes. This protects
+ * resource manager pools from being exhausted by asynchronous callers.
+ * 
+ * <pre>
+ * TransactionExecutor executor = new TransactionExecutor(manager);
+ * executor.setMaxConcurrency("core", 32);
+ * ...
+ * CompletableFuture&lt;Address&gt; future = executor.execAsync("core", new WorkingUnit&lt;Session, Address&gt;() { ... }, person);
+ * </pre>
+ * 
+ * Transaction executor is thread safe. Default {@link TransactionManager#execAsync(String, WorkingUnit, Object...)}
+ * delegates to the executor shared by transaction manager, see {@link #of(TransactionManager)}, so that concurrency
+ * limits configured on shared executor apply to all asynchronous callers of that transaction manager.
+ * 
+ * @author Iulian Rotaru
+ */
+public class TransactionExecutor
+{
+  private static final String DEFAULT_SCHEMA = "";
+
+  private static volatile ExecutorService defaultExecutor;
+
+  /** Executors shared by transaction managers; transaction managers are weakly referenced. */
+  private static final Map<TransactionManager, TransactionExecutor> executors = new WeakHashMap<>();
+
+  /**
+   * Get executor shared by given transaction manager, creating it on first use. Shared executor is used by default
+   * {@link TransactionManager#execAsync(String, WorkingUnit, Object...)} and is the place where to configure executor
+   * and concurrency limits for transaction manager asynchronous calls. Shared executor does not prevent transaction
+   * manager from being garbage collected.
+   * 
+   * @param manager transaction manager.
+   * @return transaction manager shared executor.
+   */
+  public static TransactionExecutor of(TransactionManager manager)
+  {
+    synchronized(executors) {
+      return executors.computeIfAbsent(manager, key -> {
+        WeakReference<TransactionManager> reference = new WeakReference<>(key);
+        return new TransactionExecutor(reference::get);
+      });
+    }
+  }
+
+  /**
+   * Get shared default executor. If Java runtime supports virtual threads returned executor creates a new virtual
+   * thread per task, otherwise it is a cached pool of daemon platform threads.
+   * 
+   * @return default executor.
+   */
+  public static Executor defaultExecutor()
+  {
+    if(defaultExecutor == null) {
+      synchronized(TransactionExecutor.class) {
+        if(defaultExecutor == null) {
+          defaultExecutor = createDefaultExecutor();
+        }
+      }
+    }
+    return defaultExecutor;
+  }
+
+  private static ExecutorService createDefaultExecutor()
+  {
+    try {
+      // virtual threads are available since Java 21 while this library targets Java 11
+      return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+    catch(ReflectiveOperationException e) {
+      AtomicInteger threadIndex = new AtomicInteger();
+      return Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "transaction-executor-" + threadIndex.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  private final Supplier<TransactionManager> manager;
+  private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+  private volatile Executor executor;
+  private volatile int defaultMaxConcurrency;
+
+  public TransactionExecutor(TransactionManager manager)
+  {
+    this(() -> manager);
+  }
+
+  private TransactionExecutor(Supplier<TransactionManager> manager)
+  {
+    this.manager = manager;
+  }
+
+  /**
+   * Set executor used to run working units. Default to {@link #defaultExecutor()}.
+   * 
+   * @param executor executor.
+   */
+  public void setExecutor(Executor executor)
+  {
+    this.executor = executor;
+  }
+
+  /**
+   * Set maximum concurrency for schemas without explicit limit, see {@link #setMaxConcurrency(String, int)}. Zero or
+   * negative value means unbounded, that is default value. Takes effect only for schemas not used yet.
+   * 
+   * @param maxConcurrency maximum concurrent working units per schema.
+   */
+  public void setDefaultMaxConcurrency(int maxConcurrency)
+  {
+    this.defaultMaxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Set maximum number of working units executed concurrently on given schema. Zero or negative value means unbounded.
+   * Should be configured before schema is used; replacing the limit while working units are running or queued is not
+   * supported.
+   * 
+   * @param schema transactional schema, null for default / global schema,
+   * @param maxConcurrency maximum concurrent working units.
+   */
+  public void setMaxConcurrency(String schema, int maxConcurrency)
+  {
+    lanes.put(key(schema), new Lane(maxConcurrency));
+  }
+
+  /**
+   * Execute working unit asynchronously. Returned future is completed with working unit value or exceptionally with
+   * {@link TransactionException} if execution fails, including the case when executor rejects working unit.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnit working unit to be executed transactional,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return future completed with working unit value.
+   */
+  public <R, T> CompletableFuture<T> execAsync(String schema, WorkingUnit<R, T> workingUnit, Object... args)
+  {
+    Task<R, T> task = new Task<>(schema, workingUnit, args);
+    lanes.computeIfAbsent(key(schema), key -> new Lane(defaultMaxConcurrency)).submit(task);
+    return task.future;
+  }
+
+  private static String key(String schema)
+  {
+    return schema != null ? schema : DEFAULT_SCHEMA;
+  }
+
+  private Executor executor()
+  {
+    Executor executor = this.executor;
+    return executor != null ? executor : defaultExecutor();
+  }
+
+  /** Per schema tasks queue with bounded concurrency. */
+  private class Lane
+  {
+    private final int maxConcurrency;
+    private final AtomicInteger running = new AtomicInteger();
+    private final Queue<Task<?, ?>> pending = new ConcurrentLinkedQueue<>();
+
+    Lane(int maxConcurrency)
+    {
+      this.maxConcurrency = maxConcurrency;
+    }
+
+    void submit(Task<?, ?> task)
+    {
+      if(maxConcurrency <= 0) {
+        try {
+          executor().execute(task);
+        }
+        catch(RejectedExecutionException e) {
+          task.reject(e);
+        }
+        return;
+      }
+      pending.add(task);
+      drain();
+    }
+
+    private void drain()
+    {
+      while(!pending.isEmpty()) {
+        int count = running.get();
+        if(count >= maxConcurrency) {
+          // a running task will drain the queue on completion
+          return;
+        }
+        if(!running.compareAndSet(count, count + 1)) {
+          continue;
+        }
+        Task<?, ?> task = pending.poll();
+        if(task == null) {
+          running.decrementAndGet();
+          continue;
+        }
+        try {
+          executor().execute(() -> {
+            try {
+              task.run();
+            }
+            finally {
+              running.decrementAndGet();
+              drain();
+            }
+          });
+        }
+        catch(RejectedExecutionException e) {
+          // release the slot taken for rejected task and continue with the next pending one, if any
+          running.decrementAndGet();
+          task.reject(e);
+        }
+      }
+    }
+  }
+
+  /** Working unit execution bound to the future completed with its outcome. */
+  private class Task<R, T> implements Runnable
+  {
+    private final String schema;
+    private final WorkingUnit<R, T> workingUnit;
+    private final Object[] args;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    Task(String schema, WorkingUnit<R, T> workingUnit, Object[] args)
+    {
+      this.schema = schema;
+      this.workingUnit = workingUnit;
+      this.args = args;
+    }
+
+    @Override
+    public void run()
+    {
+      try {
+        future.complete(manager.get().exec(schema, workingUnit, args));
+      }
+      catch(Throwable t) {
+        future.completeExceptionally(t);
+      }
+    }
+
+    void reject(RejectedExecutionException exception)
+    {
+      future.completeExceptionally(new TransactionException(exception));
+    }
+  }
+}
@@ -3,7 +3,10 @@ package com.jslib.api.transaction;
 /**
  * Factory for transactional instances. Implementation should return a Java Proxy that executes instance methods in a
  * transational context. Also implementation is required to properly handle {@link Mutable} and {@link Immutable}
- * annotations and to create method transaction accordingly. Factory creates a new transactional instance on every
+ * annotations and to create method transaction accordingly. Implementation should not scan annotations on every method
+ * call; transaction attributes should be resolved once per method, see {@link TransactionAttributes}. For the same
+ * reason implementation may generate proxy classes instead of using Java Proxy, with per method transaction
+ * attributes resolved at proxy class generation. Factory creates a new transactional instance on every
  * {@link #newInstance(Class, Object...)} call. If instance caching is desired it needs to be implemented externally.
  * <p>
  * To create a new transactional instance one need an implementation for this factory. Transactional instance should
@@ -48,6 +51,23 @@ package com.jslib.api.transaction;
  *  Dao dao = factory.newInstance(DaoImpl.class, "core");
  * </pre>
  * 
+ * <h3>Results Memoization</h3>
+ * <p>
+ * Inside a transaction, implementation should memoize {@link Immutable} methods results keyed by method and arguments,
+ * so that repeated invocations with the same arguments do not reach transactional resource. Memoized results are
+ * invalidated when a {@link Mutable} method is executed in the same transaction and are discarded when transaction
+ * closes. See {@link InvocationCache} for a ready to use implementation.
+ * <p>
+ * Optionally, implementation may cache results of {@link Immutable} methods declaring {@link CacheTags} across
+ * transactions, using a {@link SharedCache}. Shared cached results are invalidated by tags of {@link Mutable} methods
+ * when their transaction commits, never on rollback.
+ * 
+ * <h3>Write-Behind</h3>
+ * <p>
+ * Implementation may support {@link WriteBehind} methods: inside a transaction their invocations are recorded and
+ * flushed as grouped batch invocations before any other transactional method executes and before commit. On rollback
+ * recorded invocations are discarded. See {@link WriteBehindBuffer} for a ready to use implementation.
+ * 
  * @author Iulian Rotaru
  * @version final
  */
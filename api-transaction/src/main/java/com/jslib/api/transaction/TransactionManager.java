@@ -1,5 +1,12 @@
 package com.jslib.api.transaction;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
 /**
  * Transaction manager is a factory for transaction instances. Transaction manager is more a service provider interface
  * used by containers to provide declarative transactions. Usually user space code has no need to interact with
@@ -113,6 +120,50 @@ public interface TransactionManager
    */
   Transaction createReadOnlyTransaction(String schema);
 
+  /**
+   * Variant of {@link #createTransaction(String)} with a deadline transaction should be completed by, see
+   * {@link Transaction#setDeadline(Deadline)}. If deadline is already exceeded fails fast, without acquiring a resource
+   * manager.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param deadline transaction deadline, null for no deadline.
+   * @return newly created transaction instance.
+   * @throws TransactionTimeoutException if deadline is already exceeded.
+   * @throws TransactionException if transaction creation fails.
+   */
+  default Transaction createTransaction(String schema, Deadline deadline)
+  {
+    if(deadline == null) {
+      return createTransaction(schema);
+    }
+    deadline.check();
+    Transaction transaction = createTransaction(schema);
+    transaction.setDeadline(deadline);
+    return transaction;
+  }
+
+  /**
+   * Variant of {@link #createReadOnlyTransaction(String)} with a deadline transaction should be completed by, see
+   * {@link Transaction#setDeadline(Deadline)}. If deadline is already exceeded fails fast, without acquiring a resource
+   * manager.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param deadline transaction deadline, null for no deadline.
+   * @return newly created transaction instance.
+   * @throws TransactionTimeoutException if deadline is already exceeded.
+   * @throws TransactionException if transaction creation fails.
+   */
+  default Transaction createReadOnlyTransaction(String schema, Deadline deadline)
+  {
+    if(deadline == null) {
+      return createReadOnlyTransaction(schema);
+    }
+    deadline.check();
+    Transaction transaction = createReadOnlyTransaction(schema);
+    transaction.setDeadline(deadline);
+    return transaction;
+  }
+
   /**
    * Helper method used to execute a transactional block of code programmatically. In sample code below, working unit is
    * executed inside transaction boundaries; user code should be aware of that and do not execute excessive long
@@ -165,6 +216,593 @@ public interface TransactionManager
    */
   <R, T> T exec(WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException;
 
+  /**
+   * Variant of {@link #exec(String, WorkingUnit, Object...)} for working units without arguments. Unlike variable
+   * arguments variant it allocates no arguments array.
+   * <p>
+   * Default implementation executes working unit on a transaction created by {@link #createTransaction(String)}.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnit working unit to be executed transactional.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   */
+  default <R, T> T exec(String schema, WorkingUnit0<R, T> workingUnit) throws TransactionException
+  {
+    Transaction transaction = createTransaction(schema);
+    try {
+      return commit(transaction, workingUnit.exec(transaction.getResourceManager()));
+    }
+    catch(Exception e) {
+      throw rollback(transaction, e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  /**
+   * Variant of {@link #exec(String, WorkingUnit, Object...)} for working units with one argument. Unlike variable
+   * arguments variant it allocates no arguments array. Argument precedes working unit so that this overload does not
+   * clash with variable arguments one.
+   * <p>
+   * Default implementation executes working unit on a transaction created by {@link #createTransaction(String)}.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param a argument to be passed to working unit,
+   * @param workingUnit working unit to be executed transactional.
+   * @param <R> resource manager type for working unit.
+   * @param <A> argument type.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   */
+  default <R, A, T> T exec(String schema, A a, WorkingUnit1<R, A, T> workingUnit) throws TransactionException
+  {
+    Transaction transaction = createTransaction(schema);
+    try {
+      return commit(transaction, workingUnit.exec(transaction.getResourceManager(), a));
+    }
+    catch(Exception e) {
+      throw rollback(transaction, e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  /**
+   * Variant of {@link #exec(String, WorkingUnit, Object...)} for working units with two arguments. Unlike variable
+   * arguments variant it allocates no arguments array.
+   * <p>
+   * Default implementation executes working unit on a transaction created by {@link #createTransaction(String)}.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param a first argument to be passed to working unit,
+   * @param b second argument to be passed to working unit,
+   * @param workingUnit working unit to be executed transactional.
+   * @param <R> resource manager type for working unit.
+   * @param <A> first argument type.
+   * @param <B> second argument type.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   */
+  default <R, A, B, T> T exec(String schema, A a, B b, WorkingUnit2<R, A, B, T> workingUnit) throws TransactionException
+  {
+    Transaction transaction = createTransaction(schema);
+    try {
+      return commit(transaction, workingUnit.exec(transaction.getResourceManager(), a, b));
+    }
+    catch(Exception e) {
+      throw rollback(transaction, e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  /**
+   * Variant of {@link #exec(String, WorkingUnit, Object...)} for working units with a primitive long argument, usually
+   * an entity id. Unlike variable arguments variant it allocates no arguments array and does not box the argument.
+   * <p>
+   * Default implementation executes working unit on a transaction created by {@link #createTransaction(String)}.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param id primitive long argument to be passed to working unit,
+   * @param workingUnit working unit to be executed transactional.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   */
+  default <R, T> T exec(String schema, long id, LongWorkingUnit<R, T> workingUnit) throws TransactionException
+  {
+    Transaction transaction = createTransaction(schema);
+    try {
+      return commit(transaction, workingUnit.exec(transaction.getResourceManager(), id));
+    }
+    catch(Exception e) {
+      throw rollback(transaction, e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  /** Commit transaction and return working unit value. */
+  private static <T> T commit(Transaction transaction, T value)
+  {
+    transaction.commit();
+    return value;
+  }
+
+  /** Rollback transaction after working unit or commit failure and return the exception to be thrown. */
+  private static TransactionException rollback(Transaction transaction, Exception exception)
+  {
+    return rollback(transaction, exception instanceof TransactionException ? (TransactionException)exception : new TransactionException(exception));
+  }
+
+  /**
+   * Rollback transaction and return given exception. Exception thrown by rollback is recorded as suppressed by given
+   * exception so that working unit failure is not lost.
+   */
+  private static TransactionException rollback(Transaction transaction, TransactionException exception)
+  {
+    try {
+      transaction.rollback();
+    }
+    catch(RuntimeException e) {
+      exception.addSuppressed(e);
+    }
+    return exception;
+  }
+
+  /**
+   * Variant of {@link #exec(String, WorkingUnit, Object...)} with explicit transaction propagation mode, that is, how
+   * working unit relates to the transaction already active on current thread. Joining enclosing transaction reuses its
+   * resource manager, instead of acquiring a new one.
+   * <p>
+   * Default implementation relies on {@link #getCurrentTransaction(String)} to find enclosing transaction, on
+   * {@link Transaction#setSavepoint()} for {@link Propagation#NESTED}, on
+   * {@link #execInNewTransaction(String, WorkingUnit, Object...)} for {@link Propagation#REQUIRES_NEW} and on
+   * {@link #execNonTransactional(String, WorkingUnit, Object...)} for {@link Propagation#SUPPORTS} without enclosing
+   * transaction.
+   * 
+   * @param propagation transaction propagation mode,
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnit working unit to be executed transactional,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   * @throws UnsupportedOperationException if requested propagation mode is not supported by implementation.
+   */
+  default <R, T> T exec(Propagation propagation, String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Transaction transaction = propagation == Propagation.SUPPORTS || propagation == Propagation.NESTED ? getCurrentTransaction(schema) : null;
+    switch(propagation) {
+    case REQUIRED:
+      // implementation is required to join enclosing transaction, see Transaction nested transactions
+      return exec(schema, workingUnit, args);
+
+    case REQUIRES_NEW:
+      return execInNewTransaction(schema, workingUnit, args);
+
+    case SUPPORTS:
+      if(transaction == null) {
+        return execNonTransactional(schema, workingUnit, args);
+      }
+      try {
+        return workingUnit.exec(transaction.getResourceManager(), args);
+      }
+      catch(TransactionException e) {
+        throw e;
+      }
+      catch(Exception e) {
+        throw new TransactionException(e);
+      }
+
+    case NESTED:
+      if(transaction == null) {
+        return exec(schema, workingUnit, args);
+      }
+      Object savepoint = transaction.setSavepoint();
+      try {
+        T value = workingUnit.exec(transaction.getResourceManager(), args);
+        transaction.releaseSavepoint(savepoint);
+        return value;
+      }
+      catch(Exception e) {
+        TransactionException exception = e instanceof TransactionException ? (TransactionException)e : new TransactionException(e);
+        try {
+          transaction.rollback(savepoint);
+        }
+        catch(RuntimeException rollbackException) {
+          exception.addSuppressed(rollbackException);
+        }
+        throw exception;
+      }
+
+    default:
+      throw new UnsupportedOperationException("Propagation not supported: " + propagation);
+    }
+  }
+
+  /**
+   * Variant of {@link #exec(String, WorkingUnit, Object...)} with a deadline transaction should be completed by. Working
+   * unit is executed on a transaction created by {@link #createTransaction(String, Deadline)} and can check the
+   * deadline cooperatively via {@link TransactionContext#getDeadline()}. If deadline is exceeded transaction is rolled
+   * back with {@link TransactionTimeoutException}, even if working unit completed.
+   * 
+   * <pre>
+   * manager.exec(Deadline.after(Duration.ofMillis(200)), "core", new WorkingUnit&lt;Session, Address&gt;() { ... }, person);
+   * </pre>
+   * 
+   * @param deadline transaction deadline, null for no deadline,
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnit working unit to be executed transactional,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionTimeoutException if deadline is exceeded; if working unit failed after deadline, e.g. on
+   *           statement timeout, the root cause is set to working unit exception.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   */
+  default <R, T> T exec(Deadline deadline, String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Transaction transaction = createTransaction(schema, deadline);
+    try {
+      T value = workingUnit.exec(transaction.getResourceManager(), args);
+      if(deadline != null) {
+        deadline.check();
+      }
+      return commit(transaction, value);
+    }
+    catch(Exception e) {
+      if(deadline != null && deadline.isExpired() && !(e instanceof TransactionTimeoutException)) {
+        throw rollback(transaction, new TransactionTimeoutException(e));
+      }
+      throw rollback(transaction, e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  /**
+   * Execute working unit in a new transaction on a new resource manager, independent of the transaction active on
+   * current thread, if any. Enclosing transactions are suspended till working unit transaction completes and are not
+   * affected by its commit or rollback. Used by {@link Propagation#REQUIRES_NEW}.
+   * <p>
+   * Default implementation throws unsupported operation since suspending enclosing transaction needs implementation
+   * support.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnit working unit to be executed transactional,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   * @throws UnsupportedOperationException if implementation cannot suspend enclosing transaction.
+   */
+  default <R, T> T execInNewTransaction(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    throw new UnsupportedOperationException("Propagation not supported: " + Propagation.REQUIRES_NEW);
+  }
+
+  /**
+   * Execute working unit without transaction, on a resource manager in auto-commit mode: every change takes effect
+   * immediately and there is nothing to roll back on failure. Used by {@link Propagation#SUPPORTS} when there is no
+   * enclosing transaction.
+   * <p>
+   * Default implementation throws unsupported operation since not all transactional resources have an auto-commit
+   * mode.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnit working unit to be executed,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   * @throws UnsupportedOperationException if implementation does not support non-transactional execution.
+   */
+  default <R, T> T execNonTransactional(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    throw new UnsupportedOperationException("Propagation not supported: " + Propagation.SUPPORTS + " without enclosing transaction");
+  }
+
+  /**
+   * Get transaction active on current thread for given schema, used to join enclosing transaction, see
+   * {@link #exec(Propagation, String, WorkingUnit, Object...)}.
+   * <p>
+   * Default implementation returns null.
+   * 
+   * @param schema optional transactional schema, null if not used.
+   * @return current thread transaction or null if there is no active transaction for given schema.
+   */
+  default Transaction getCurrentTransaction(String schema)
+  {
+    return null;
+  }
+
+  /**
+   * Read-only variant of {@link #exec(String, WorkingUnit, Object...)}. Working unit is executed inside a transaction
+   * created by {@link #createReadOnlyTransaction(String)} so that implementation may optimize it, e.g. route it to a
+   * read replica. Working unit should not alter transactional resource.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnit working unit to be executed transactional,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return the value returned by executed working unit.
+   * @throws TransactionException if working unit execution fails in some way. Note that the root cause is set to the
+   *           actual working unit exception.
+   */
+  default <R, T> T execReadOnly(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Transaction transaction = createReadOnlyTransaction(schema);
+    try {
+      return workingUnit.exec(transaction.getResourceManager(), args);
+    }
+    catch(TransactionException e) {
+      throw e;
+    }
+    catch(Exception e) {
+      throw new TransactionException(e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  /**
+   * Streaming variant of {@link #execReadOnly(String, WorkingUnit, Object...)} that returns a lazily populated stream
+   * instead of a fully materialized value. Read-only transaction is kept open while caller consumes the stream and is
+   * closed when stream is closed; caller should always close returned stream, preferably with try-with-resources,
+   * otherwise transaction and its resource manager leak.
+   * <p>
+   * Since transaction boundaries extend to stream consumer, consumer code should be aware of that and do not execute
+   * excessive long processing per element. Also returned stream should be consumed on the thread that created it.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param fetchSize hint about the number of records to fetch from database in a round trip,
+   * @param workingUnit streaming working unit that opens the stream,
+   * @param args variable arguments list to be passed to {@link StreamingWorkingUnit#exec(Object, int, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the stream elements.
+   * @return lazily populated stream that closes the transaction on close.
+   * @throws TransactionException if stream opening fails. Note that the root cause is set to the actual working unit
+   *           exception.
+   */
+  default <R, T> Stream<T> execStream(String schema, int fetchSize, StreamingWorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Transaction transaction = createReadOnlyTransaction(schema);
+    try {
+      Stream<T> stream = workingUnit.exec(transaction.getResourceManager(), fetchSize, args);
+      return stream.onClose(transaction::close);
+    }
+    catch(Exception e) {
+      transaction.close();
+      throw e instanceof TransactionException ? (TransactionException)e : new TransactionException(e);
+    }
+  }
+
+  /**
+   * Asynchronous variant of {@link #exec(String, WorkingUnit, Object...)} that does not block caller thread. Returned
+   * future is completed with working unit value or exceptionally with {@link TransactionException} if working unit
+   * execution fails.
+   * 
+   * <pre>
+   * manager.execAsync("core", new WorkingUnit&lt;Session, Address&gt;() { ... }, person).thenAccept(address -&gt; { ... });
+   * </pre>
+   * 
+   * Default implementation delegates to transaction manager shared executor, see
+   * {@link TransactionExecutor#of(TransactionManager)}, that runs working units on virtual threads if supported by Java
+   * runtime. Concurrency per schema is bounded by the limits configured on shared executor:
+   * 
+   * <pre>
+   * TransactionExecutor.of(manager).setMaxConcurrency("core", 32);
+   * </pre>
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnit working unit to be executed transactional,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return future completed with the value returned by executed working unit.
+   */
+  default <R, T> CompletableFuture<T> execAsync(String schema, WorkingUnit<R, T> workingUnit, Object... args)
+  {
+    return TransactionExecutor.of(this).execAsync(schema, workingUnit, args);
+  }
+
+  /**
+   * Execute a list of working units inside a single transaction or, if commit interval is positive, inside a new
+   * transaction every <code>commitInterval</code> working units. This saves transaction begin and commit round-trips
+   * for large numbers of small working units, without changing working units code. All working units receive the same
+   * arguments.
+   * 
+   * If a working unit fails, its transaction is rolled back and execution continues with next working unit, on a new
+   * transaction. Returned batch result reports failed working units and the working units rolled back together with
+   * them, that caller may decide to execute again.
+   * 
+   * <pre>
+   * BatchResult&lt;Void&gt; result = manager.execBatch("core", units, 100);
+   * for(int index : result.getUncommitted()) {
+   *   ...
+   * }
+   * </pre>
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param workingUnits working units, executed in list order,
+   * @param commitInterval the number of working units per transaction, zero or negative for single transaction,
+   * @param args variable arguments list to be passed to every {@link WorkingUnit#exec(Object, Object...)}.
+   * @param <R> resource manager type for working units.
+   * @param <T> the type of the working units returned value.
+   * @return per working unit results.
+   */
+  default <R, T> BatchResult<T> execBatch(String schema, List<? extends WorkingUnit<R, T>> workingUnits, int commitInterval, Object... args)
+  {
+    BatchResult<T> result = new BatchResult<>(workingUnits.size());
+    Transaction transaction = null;
+    int start = 0;
+
+    for(int i = 0; i < workingUnits.size(); ++i) {
+      if(transaction == null) {
+        transaction = createTransaction(schema);
+        start = i;
+      }
+
+      try {
+        result.setValue(i, workingUnits.get(i).exec(transaction.getResourceManager(), args));
+      }
+      catch(Exception e) {
+        result.fail(i, i + 1, e);
+        rollbackBatch(transaction, e);
+        transaction = null;
+        result.rollback(start, i);
+        continue;
+      }
+
+      if(commitInterval > 0 && i + 1 - start == commitInterval) {
+        commitBatch(transaction, result, start, i + 1);
+        transaction = null;
+      }
+    }
+
+    if(transaction != null) {
+      commitBatch(transaction, result, start, workingUnits.size());
+    }
+    return result;
+  }
+
+  private static void commitBatch(Transaction transaction, BatchResult<?> result, int start, int end)
+  {
+    try {
+      transaction.commit();
+      result.commit(start, end);
+    }
+    catch(RuntimeException e) {
+      result.fail(start, end, e);
+      rollbackBatch(transaction, e);
+      return;
+    }
+    try {
+      transaction.close();
+    }
+    catch(RuntimeException ignored) {
+      // transaction is already committed and close failure does not change batch results
+    }
+  }
+
+  /**
+   * Rollback and close failed batch transaction. Exceptions thrown by rollback or close are recorded as suppressed by
+   * batch failure exception so that batch results are not lost.
+   */
+  private static void rollbackBatch(Transaction transaction, Exception failure)
+  {
+    try {
+      transaction.rollback();
+    }
+    catch(RuntimeException e) {
+      failure.addSuppressed(e);
+    }
+    try {
+      transaction.close();
+    }
+    catch(RuntimeException e) {
+      failure.addSuppressed(e);
+    }
+  }
+
+  /**
+   * Execute the same working unit over every partition, each in its own transaction, with at most given number of
+   * partitions executed in parallel. Partition is passed to working unit as first argument, followed by given
+   * arguments; a partition can be any object understood by working unit, e.g. a keys range or a chunk of records, see
+   * {@link Partitions}. This method blocks till all partitions are completed.
+   * 
+   * A failed partition is rolled back without affecting the others. Returned result reports per partition outcome and
+   * supplies failed partitions that caller may execute again.
+   * 
+   * <pre>
+   * List&lt;Partitions.Range&gt; ranges = Partitions.ranges(0, maxId + 1, 64);
+   * PartitionResult&lt;Partitions.Range, Integer&gt; result = manager.execPartitioned("core", ranges, 8, (Session session, Object... args) -&gt; {
+   *   Partitions.Range range = (Partitions.Range)args[0];
+   *   ...
+   * });
+   * </pre>
+   * 
+   * Default implementation runs partitions on {@link TransactionExecutor#defaultExecutor()}, bounded to given
+   * parallelism. Parallelism should not exceed resource managers pool size.
+   * 
+   * @param schema optional transactional schema, null if not used,
+   * @param partitions partitions to execute working unit over,
+   * @param parallelism maximum number of partitions executed in parallel, zero or negative for unbounded,
+   * @param workingUnit working unit to be executed transactional for every partition,
+   * @param args variable arguments list to be passed to {@link WorkingUnit#exec(Object, Object...)}, after partition.
+   * @param <P> partition type.
+   * @param <R> resource manager type for working unit.
+   * @param <T> the type of the working unit returned value.
+   * @return per partition results.
+   */
+  default <P, R, T> PartitionResult<P, T> execPartitioned(String schema, List<P> partitions, int parallelism, WorkingUnit<R, T> workingUnit, Object... args)
+  {
+    PartitionResult<P, T> result = new PartitionResult<>(partitions);
+    int size = partitions.size();
+    int workersCount = parallelism > 0 ? Math.min(parallelism, size) : size;
+
+    // every worker takes the next not started partition till all are taken; there are no queued tasks per partition
+    AtomicInteger nextIndex = new AtomicInteger();
+    Runnable worker = () -> {
+      for(int index = nextIndex.getAndIncrement(); index < size; index = nextIndex.getAndIncrement()) {
+        Object[] partitionArgs = new Object[args.length + 1];
+        partitionArgs[0] = partitions.get(index);
+        System.arraycopy(args, 0, partitionArgs, 1, args.length);
+        try {
+          result.commit(index, exec(schema, workingUnit, partitionArgs));
+        }
+        catch(Exception e) {
+          result.fail(index, e);
+        }
+        catch(Throwable t) {
+          result.fail(index, new TransactionException(new ExecutionException(t)));
+        }
+      }
+    };
+
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[workersCount];
+    for(int i = 0; i < workersCount; ++i) {
+      try {
+        futures[i] = CompletableFuture.runAsync(worker, TransactionExecutor.defaultExecutor());
+      }
+      catch(RejectedExecutionException e) {
+        // run on caller thread partitions not taken by already started workers
+        worker.run();
+        futures[i] = CompletableFuture.completedFuture(null);
+      }
+    }
+
+    // worker handles partition failures so join does not throw; it also publishes results recorded by executor threads
+    CompletableFuture.allOf(futures).join();
+    return result;
+  }
+
   /** Release transactional resources. */
   void destroy();
 }
@@ -0,0 +1,155 @@
+package com.jslib.api.transaction;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of per schema transaction metrics. Metrics are recorded by transaction manager implementations or by
+ * {@link MetricsTransactionManager} decorator, for any transaction manager. Metrics can be read programmatically, see
+ * {@link #schema(String)}, or published over JMX, see {@link #register()}.
+ * 
+ * <pre>
+ * TransactionMetrics metrics = new TransactionMetrics();
+ * metrics.setLongRunningThreshold(Duration.ofSeconds(5).toNanos());
+ * metrics.register();
+ * TransactionManager manager = new MetricsTransactionManager(ServiceLoader.load(TransactionManager.class).iterator().next(), metrics);
+ * </pre>
+ * 
+ * Transaction metrics registry is thread safe.
+ * 
+ * @author Iulian Rotaru
+ */
+public class TransactionMetrics
+{
+  private static final String DEFAULT_SCHEMA = "default";
+  private static final String OBJECT_NAME = "com.jslib.transaction:type=TransactionMetrics,schema=";
+
+  private final Map<String, SchemaMetrics> schemas = new ConcurrentHashMap<>();
+
+  private volatile long longRunningThreshold;
+  private volatile boolean captureStacks;
+  private volatile boolean registered;
+
+  /**
+   * Set threshold for long running transactions detection, in nanoseconds. Zero or negative value disables detection,
+   * that is default value.
+   * 
+   * @param longRunningThreshold long running transactions threshold, in nanoseconds.
+   */
+  public void setLongRunningThreshold(long longRunningThreshold)
+  {
+    this.longRunningThreshold = longRunningThreshold;
+  }
+
+  /** Convenient variant of {@link #setLongRunningThreshold(long)}. */
+  public void setLongRunningThreshold(Duration longRunningThreshold)
+  {
+    setLongRunningThreshold(longRunningThreshold.toNanos());
+  }
+
+  public long getLongRunningThreshold()
+  {
+    return longRunningThreshold;
+  }
+
+  /**
+   * Capture the stack where every transaction starts, reported for long running transactions. Capturing stack has
+   * significant cost and takes effect only if long running detection is enabled. Default to false.
+   * 
+   * @param captureStacks capture stacks flag.
+   */
+  public void setCaptureStacks(boolean captureStacks)
+  {
+    this.captureStacks = captureStacks;
+  }
+
+  public boolean isCaptureStacks()
+  {
+    return captureStacks;
+  }
+
+  /**
+   * Get metrics for given schema, creating them on first use. If this registry is published on JMX, newly created
+   * schema metrics are published too.
+   * 
+   * @param schema transactional schema, null for default / global schema.
+   * @return schema metrics.
+   */
+  public SchemaMetrics schema(String schema)
+  {
+    String key = schema != null ? schema : DEFAULT_SCHEMA;
+    SchemaMetrics metrics = schemas.get(key);
+    if(metrics == null) {
+      metrics = schemas.computeIfAbsent(key, name -> new SchemaMetrics(name, this));
+      if(registered) {
+        register(metrics);
+      }
+    }
+    return metrics;
+  }
+
+  /** Get metrics for all schemas used so far. */
+  public Collection<SchemaMetrics> schemas()
+  {
+    return schemas.values();
+  }
+
+  /**
+   * Publish metrics on platform MBean server, one MBean per schema with object name
+   * <code>com.jslib.transaction:type=TransactionMetrics,schema=schema</code>. Schemas used after registration are
+   * published on first use.
+   * 
+   * @throws TransactionException if registration fails.
+   */
+  public void register()
+  {
+    registered = true;
+    for(SchemaMetrics metrics : schemas.values()) {
+      register(metrics);
+    }
+  }
+
+  /** Remove published metrics from platform MBean server. */
+  public void unregister()
+  {
+    registered = false;
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    for(SchemaMetrics metrics : schemas.values()) {
+      try {
+        ObjectName objectName = objectName(metrics);
+        if(server.isRegistered(objectName)) {
+          server.unregisterMBean(objectName);
+        }
+      }
+      catch(JMException e) {
+        throw new TransactionException(e);
+      }
+    }
+  }
+
+  private static void register(SchemaMetrics metrics)
+  {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName objectName = objectName(metrics);
+      if(!server.isRegistered(objectName)) {
+        server.registerMBean(metrics, objectName);
+      }
+    }
+    catch(JMException e) {
+      throw new TransactionException(e);
+    }
+  }
+
+  private static ObjectName objectName(SchemaMetrics metrics) throws JMException
+  {
+    return new ObjectName(OBJECT_NAME + ObjectName.quote(metrics.getSchema()));
+  }
+}
@@ -0,0 +1,34 @@
+package com.jslib.api.transaction;
+
+/**
+ * Transaction was rolled back because its {@link Deadline} was exceeded.
+ * 
+ * @author Iulian Rotaru
+ */
+public class TransactionTimeoutException extends TransactionException
+{
+  /** Java serialization version. */
+  private static final long serialVersionUID = -3521174407282553617L;
+
+  /**
+   * Construct exception with formatted message. See {@link String#format(String, Object...)} for message format
+   * description.
+   * 
+   * @param message formatted message,
+   * @param args optional format arguments.
+   */
+  public TransactionTimeoutException(String message, Object... args)
+  {
+    super(message, args);
+  }
+
+  /**
+   * Create timeout exception for working unit failure caused by exceeded deadline, e.g. statement timeout.
+   * 
+   * @param cause exception cause.
+   */
+  public TransactionTimeoutException(Exception cause)
+  {
+    super(cause);
+  }
+}
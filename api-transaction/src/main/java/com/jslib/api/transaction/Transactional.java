@@ -26,6 +26,12 @@ import java.lang.annotation.Target;
  * A transactional resource may support multiple schemas. A schema simply groups together a number of resource objects.
  * This allows to limit the scope of resource objects accessible from a transaction boundaries. Depending on
  * implementation, transactional schema can have alternative names, e.g. JPA name it persistence unit.
+ * <p>
+ * When a transactional method is invoked from another transactional method, inner method joins outer transaction and
+ * its resource manager. This behavior can be changed with {@link #propagation()} attribute, see {@link Propagation}.
+ * <p>
+ * A transactional method may have a {@link #timeout()}; transaction is rolled back with
+ * {@link TransactionTimeoutException} if method does not complete in time.
  * 
  * @author Iulian Rotaru
  * @version final
@@ -41,4 +47,16 @@ public @interface Transactional {
    * from transaction boundaries. Transactional schema is optional.
    */
   String schema() default "";
+
+  /**
+   * Transaction propagation mode, that is, how this transactional method relates to an enclosing transaction. Default
+   * to {@link Propagation#REQUIRED}, that joins enclosing transaction.
+   */
+  Propagation propagation() default Propagation.REQUIRED;
+
+  /**
+   * Transaction timeout in milliseconds, converted to a {@link Deadline} when transaction is created. Zero, that is
+   * default value, means no timeout.
+   */
+  long timeout() default 0;
 }
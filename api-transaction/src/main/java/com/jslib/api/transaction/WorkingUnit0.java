@@ -0,0 +1,26 @@
+package com.jslib.api.transaction;
+
+/**
+ * Transactional working unit without arguments, designed to work with {@link TransactionManager#exec(String,
+ * WorkingUnit0)}. Unlike {@link WorkingUnit} it does not use variable arguments, so that invoking it allocates no
+ * arguments array; it is intended for high rate programmatic transactions.
+ * 
+ * <pre>
+ * Address address = transactionManager.exec("core", (Session session) -&gt; (Address)session.get(Address.class, 1));
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ * @param <R> resource manager
+ * @param <T> returned value type.
+ */
+public interface WorkingUnit0<R, T>
+{
+  /**
+   * Execute block of code inside transactional boundaries and return the value.
+   * 
+   * @param resourceManager resource manager.
+   * @return working unit result, possible null.
+   * @throws Exception any execution exception is bubbled up.
+   */
+  T exec(R resourceManager) throws Exception;
+}
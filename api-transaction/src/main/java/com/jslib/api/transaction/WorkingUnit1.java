@@ -0,0 +1,29 @@
+package com.jslib.api.transaction;
+
+/**
+ * Transactional working unit with one argument, designed to work with {@link TransactionManager#exec(String, Object,
+ * WorkingUnit1)}. Unlike {@link WorkingUnit} it does not use variable arguments, so that invoking it allocates no
+ * arguments array; it is intended for high rate programmatic transactions. For a primitive long argument use {@link
+ * LongWorkingUnit}, that does not box it.
+ * 
+ * <pre>
+ * Address address = transactionManager.exec("core", person, (Session session, Person p) -&gt; ...);
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ * @param <R> resource manager
+ * @param <A> argument type.
+ * @param <T> returned value type.
+ */
+public interface WorkingUnit1<R, A, T>
+{
+  /**
+   * Execute block of code inside transactional boundaries and return the value.
+   * 
+   * @param resourceManager resource manager,
+   * @param a argument.
+   * @return working unit result, possible null.
+   * @throws Exception any execution exception is bubbled up.
+   */
+  T exec(R resourceManager, A a) throws Exception;
+}
@@ -0,0 +1,31 @@
+package com.jslib.api.transaction;
+
+/**
+ * Transactional working unit with two arguments, designed to work with {@link TransactionManager#exec(String, Object,
+ * Object, WorkingUnit2)}. Unlike {@link WorkingUnit} it does not use variable arguments, so that invoking it allocates
+ * no arguments array; it is intended for high rate programmatic transactions. For a primitive long argument use {@link
+ * LongWorkingUnit}, that does not box it.
+ * 
+ * <pre>
+ * Address address = transactionManager.exec("core", person, kind, (Session session, Person p, AddressKind k) -&gt; ...);
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ * @param <R> resource manager
+ * @param <A> first argument type.
+ * @param <B> second argument type.
+ * @param <T> returned value type.
+ */
+public interface WorkingUnit2<R, A, B, T>
+{
+  /**
+   * Execute block of code inside transactional boundaries and return the value.
+   * 
+   * @param resourceManager resource manager,
+   * @param a first argument,
+   * @param b second argument.
+   * @return working unit result, possible null.
+   * @throws Exception any execution exception is bubbled up.
+   */
+  T exec(R resourceManager, A a, B b) throws Exception;
+}
@@ -0,0 +1,42 @@
+package com.jslib.api.transaction;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opt-in write-behind for a {@link Mutable} transactional method returning void. Inside a transaction, invocations of
+ * write-behind methods are recorded instead of executed and are flushed, in invocation order, before transaction
+ * commits or before any other transactional method executes, e.g. an {@link Immutable} read that may depend on them.
+ * See {@link WriteBehindBuffer}.
+ * <p>
+ * Consecutive invocations of the same method are grouped. If {@link #batch()} names a batch method, a group is flushed
+ * with a single batch method invocation, e.g. a batched insert, cutting database round trips; otherwise recorded
+ * invocations are replayed one by one.
+ * 
+ * <pre>
+ *  &#064;Transactional
+ *  class DaoImpl implements Dao {
+ *      &#064;WriteBehind(batch = "saveEvents")
+ *      public void saveEvent(Event event) {
+ *      }
+ * 
+ *      public void saveEvents(List&lt;Event&gt; events) {
+ *      }
+ *  }
+ * </pre>
+ * 
+ * Batch method is a public method of the same implementation class with a single {@link java.util.List} parameter. For
+ * a write-behind method with a single parameter, list contains the argument of every grouped invocation; otherwise
+ * list contains the arguments arrays. Note that arguments are used when flushed, so caller should not alter them after
+ * invocation.
+ * 
+ * @author Iulian Rotaru
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WriteBehind {
+  /** Optional name of the batch method used to flush grouped invocations. */
+  String batch() default "";
+}
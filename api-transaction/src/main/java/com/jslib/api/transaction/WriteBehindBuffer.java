@@ -0,0 +1,216 @@
+package com.jslib.api.transaction;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transaction scoped buffer for {@link WriteBehind} methods invocations, used by {@link TransactionFactory}
+ * implementations. Invocations are recorded and flushed in recording order; consecutive invocations of the same method
+ * on the same instance are grouped and, if method has a batch method, flushed with a single batch method invocation.
+ * Every group is flushed by {@link TransactionManager#exec(String, WorkingUnit, Object...)} on the schema of its
+ * method, so that it joins the enclosing transaction on that schema.
+ * 
+ * Buffer follows transaction nesting and is bound to current thread: every transactional method invocation opens the
+ * buffer and closes it on completion; nested invocations reuse the buffer opened by outermost one. Only nested
+ * write-behind invocations are recorded; a top level one has no enclosing transaction to flush it and is executed
+ * normally. Any transactional method other than a write-behind one flushes the buffer before creating its own
+ * transaction, while caller transaction is still current, and flushes invocations recorded by its nested invocations
+ * before its transaction commits.
+ * 
+ * <pre>
+ * WriteBehindBuffer buffer = WriteBehindBuffer.open();
+ * try {
+ *   if(attributes.isWriteBehind() &amp;&amp; !buffer.isOutermost()) {
+ *     buffer.record(attributes.getSchema(), instance, method, attributes.getWriteBehindBatch(), args);
+ *     return null;
+ *   }
+ *   buffer.flush(manager);
+ *   return manager.exec(attributes.getSchema(), (resourceManager, unitArgs) -&gt; {
+ *     Object value = method.invoke(instance, unitArgs);
+ *     buffer.flush(manager);
+ *     return value;
+ *   }, args);
+ * }
+ * finally {
+ *   buffer.close();
+ * }
+ * </pre>
+ * 
+ * Since a recorded invocation does not reach transactional resource, implementations should handle it as an executed
+ * {@link Mutable} method, e.g. invalidate {@link InvocationCache}. Write-behind buffer is not thread safe, by design.
+ * 
+ * @author Iulian Rotaru
+ */
+public class WriteBehindBuffer
+{
+  private static final ThreadLocal<WriteBehindBuffer> current = new ThreadLocal<>();
+
+  /**
+   * Open buffer for current transaction. If there is no buffer bound to current thread this method creates a new one;
+   * otherwise reuse existing buffer and increment nesting level.
+   * 
+   * @return current transaction buffer.
+   */
+  public static WriteBehindBuffer open()
+  {
+    WriteBehindBuffer buffer = current.get();
+    if(buffer == null) {
+      buffer = new WriteBehindBuffer();
+      current.set(buffer);
+    }
+    ++buffer.nestingLevel;
+    return buffer;
+  }
+
+  private final List<Group> groups = new ArrayList<>();
+  private int size;
+  private int nestingLevel;
+
+  private WriteBehindBuffer()
+  {
+  }
+
+  /**
+   * Record write-behind method invocation. Arguments array is copied so that caller can reuse it; arguments themselves
+   * are not copied.
+   * 
+   * @param schema optional transactional schema of write-behind method, null if not used,
+   * @param instance transactional instance,
+   * @param method write-behind method,
+   * @param batchMethod optional batch method, null if invocations are replayed one by one,
+   * @param args invocation arguments, possible null.
+   */
+  public void record(String schema, Object instance, Method method, Method batchMethod, Object[] args)
+  {
+    Group group = groups.isEmpty() ? null : groups.get(groups.size() - 1);
+    if(group == null || group.instance != instance || !group.method.equals(method)) {
+      group = new Group(schema, instance, method, batchMethod);
+      groups.add(group);
+    }
+    group.invocations.add(args != null ? args.clone() : new Object[0]);
+    ++size;
+  }
+
+  /** Get the number of recorded invocations not yet flushed. */
+  public int size()
+  {
+    return size;
+  }
+
+  /** Test if there are no recorded invocations. */
+  public boolean isEmpty()
+  {
+    return size == 0;
+  }
+
+  /** Test if buffer was opened by outermost transactional invocation, that should flush it before commit. */
+  public boolean isOutermost()
+  {
+    return nestingLevel == 1;
+  }
+
+  /**
+   * Execute recorded invocations, in recording order, and clear the buffer. Every group is executed by given transaction
+   * manager on its schema, joining the enclosing transaction on that schema, if any. Buffer is cleared before execution
+   * so that on failure invocations are not executed again; transaction is expected to roll back.
+   * 
+   * @param manager transaction manager.
+   * @throws TransactionException if a recorded or batch method fails. Note that the root cause is set to the actual
+   *           method exception.
+   */
+  public void flush(TransactionManager manager) throws TransactionException
+  {
+    if(size == 0) {
+      return;
+    }
+    List<Group> pending = new ArrayList<>(groups);
+    groups.clear();
+    size = 0;
+
+    for(Group group : pending) {
+      manager.exec(group.schema, (Object resourceManager, Object... args) -> {
+        group.execute();
+        return null;
+      });
+    }
+  }
+
+  /** Discard recorded invocations without executing them, e.g. on transaction rollback. */
+  public void discard()
+  {
+    groups.clear();
+    size = 0;
+  }
+
+  /**
+   * Close this buffer. Buffer is discarded only when outermost transaction closes it; for nested transactions just
+   * decrement nesting level. Invocations not flushed by outermost transaction are lost.
+   * 
+   * @return true if buffer was discarded, false for nested transactions.
+   */
+  public boolean close()
+  {
+    if(--nestingLevel > 0) {
+      return false;
+    }
+    discard();
+    current.remove();
+    return true;
+  }
+
+  private static void invoke(Object instance, Method method, Object... args) throws Exception
+  {
+    try {
+      method.invoke(instance, args);
+    }
+    catch(InvocationTargetException e) {
+      Throwable target = e.getTargetException();
+      if(target instanceof Exception) {
+        throw (Exception)target;
+      }
+      throw (Error)target;
+    }
+  }
+
+  /** Consecutive invocations of the same method on the same instance. */
+  private static class Group
+  {
+    final String schema;
+    final Object instance;
+    final Method method;
+    final Method batchMethod;
+    final List<Object[]> invocations = new ArrayList<>();
+
+    Group(String schema, Object instance, Method method, Method batchMethod)
+    {
+      this.schema = schema;
+      this.instance = instance;
+      this.method = method;
+      this.batchMethod = batchMethod;
+    }
+
+    void execute() throws Exception
+    {
+      if(batchMethod != null) {
+        invoke(instance, batchMethod, batchArgument());
+        return;
+      }
+      for(Object[] args : invocations) {
+        invoke(instance, method, args);
+      }
+    }
+
+    /** Batch method argument: single arguments for single parameter methods, otherwise arguments arrays. */
+    List<Object> batchArgument()
+    {
+      List<Object> argument = new ArrayList<>(invocations.size());
+      boolean single = method.getParameterCount() == 1;
+      for(Object[] args : invocations) {
+        argument.add(single ? args[0] : args);
+      }
+      return argument;
+    }
+  }
+}
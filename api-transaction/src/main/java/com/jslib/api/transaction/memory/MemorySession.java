@@ -0,0 +1,167 @@
+package com.jslib.api.transaction.memory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jslib.api.transaction.Deadline;
+
+/**
+ * Resource manager for in-memory transactions, giving working units access to the key-value store of transaction
+ * schema. Reads see the snapshot taken at transaction start, plus this transaction own writes. Writes are buffered
+ * and applied to store only on commit.
+ * 
+ * <pre>
+ * Integer balance = manager.exec("bank", (MemorySession session, Object... args) -&gt; {
+ *   Integer value = session.get("balance");
+ *   session.put("balance", value + 10);
+ *   return value;
+ * });
+ * </pre>
+ * 
+ * A session for non-transactional execution, see
+ * {@link MemoryTransactionManager#execNonTransactional(String, com.jslib.api.transaction.WorkingUnit, Object...)}, is in
+ * auto-commit mode: reads see last committed values and every write is committed immediately.
+ * <p>
+ * If transaction has a deadline, every session operation checks it, similar to a statement timeout, and throws
+ * {@link com.jslib.api.transaction.TransactionTimeoutException} if exceeded.
+ * <p>
+ * A session is confined to the thread executing its transaction and is not thread safe.
+ * 
+ * @author Iulian Rotaru
+ */
+public final class MemorySession
+{
+  private final MemoryStore store;
+  private final long snapshot;
+  private final boolean readOnly;
+  private final boolean autoCommit;
+
+  /** Write set in write order; null value is a deletion. */
+  private Map<Object, Object> writes = new LinkedHashMap<>();
+  private Deadline deadline;
+
+  MemorySession(MemoryStore store, long snapshot, boolean readOnly)
+  {
+    this.store = store;
+    this.snapshot = snapshot;
+    this.readOnly = readOnly;
+    this.autoCommit = false;
+  }
+
+  /** Create auto-commit session. */
+  MemorySession(MemoryStore store)
+  {
+    this.store = store;
+    // newest version is visible and commits never conflict, that is, last writer wins
+    this.snapshot = Long.MAX_VALUE;
+    this.readOnly = false;
+    this.autoCommit = true;
+  }
+
+  /**
+   * Get value visible to this session.
+   * 
+   * @param key value key, not null.
+   * @param <V> auto-cast to value type.
+   * @return value or null if key does not exist.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> V get(Object key)
+  {
+    checkDeadline();
+    if(writes.containsKey(key)) {
+      return (V)writes.get(key);
+    }
+    return (V)store.get(key, snapshot);
+  }
+
+  /** Test if key exists for this session. */
+  public boolean containsKey(Object key)
+  {
+    return get(key) != null;
+  }
+
+  /**
+   * Store value, replacing existing one, if any. Value becomes visible to other transactions only after commit.
+   * 
+   * @param key value key, not null,
+   * @param value value, not null.
+   * @throws IllegalArgumentException if key or value is null.
+   * @throws IllegalStateException if this session belongs to a read-only transaction.
+   */
+  public void put(Object key, Object value)
+  {
+    if(key == null || value == null) {
+      throw new IllegalArgumentException("Null key or value.");
+    }
+    write(key, value);
+  }
+
+  /**
+   * Remove value with given key; does nothing if key does not exist.
+   * 
+   * @param key value key, not null.
+   * @throws IllegalArgumentException if key is null.
+   * @throws IllegalStateException if this session belongs to a read-only transaction.
+   */
+  public void remove(Object key)
+  {
+    if(key == null) {
+      throw new IllegalArgumentException("Null key.");
+    }
+    write(key, null);
+  }
+
+  /** Test if this session belongs to a read-only transaction. */
+  public boolean isReadOnly()
+  {
+    return readOnly;
+  }
+
+  private void write(Object key, Object value)
+  {
+    if(readOnly) {
+      throw new IllegalStateException("Attempt to write on read-only transaction.");
+    }
+    checkDeadline();
+    if(autoCommit) {
+      store.commit(Collections.singletonMap(key, value), snapshot);
+      return;
+    }
+    writes.put(key, value);
+  }
+
+  private void checkDeadline()
+  {
+    if(deadline != null) {
+      deadline.check();
+    }
+  }
+
+  Deadline getDeadline()
+  {
+    return deadline;
+  }
+
+  void setDeadline(Deadline deadline)
+  {
+    this.deadline = deadline;
+  }
+
+  long getSnapshot()
+  {
+    return snapshot;
+  }
+
+  Map<Object, Object> getWrites()
+  {
+    return writes;
+  }
+
+  /** Replace write set, used to restore a savepoint. */
+  void setWrites(Map<Object, Object> writes)
+  {
+    this.writes = writes;
+  }
+}
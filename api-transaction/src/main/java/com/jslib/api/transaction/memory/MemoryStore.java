@@ -0,0 +1,138 @@
+package com.jslib.api.transaction.memory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jslib.api.transaction.TransactionException;
+
+/**
+ * Multi-version key-value store for a transactional schema. Every key has a chain of committed versions, newest first;
+ * a snapshot reads, for every key, the newest version not greater than snapshot version. Readers never lock; commits
+ * are serialized on store monitor and validate write-write conflicts using first-committer-wins rule.
+ * <p>
+ * Versions no longer visible to any active snapshot are pruned from the chains of the keys written by a commit.
+ * 
+ * @author Iulian Rotaru
+ */
+final class MemoryStore
+{
+  private final Map<Object, Version> heads = new ConcurrentHashMap<>();
+  /** Last committed version; a new snapshot sees all versions up to and including it. */
+  private final AtomicLong clock = new AtomicLong();
+  /** Active snapshots mapped to the number of transactions using them. */
+  private final ConcurrentSkipListMap<Long, Integer> snapshots = new ConcurrentSkipListMap<>();
+
+  /**
+   * Open a snapshot of last committed version. Returned snapshot version should be released with
+   * {@link #releaseSnapshot(long)}.
+   * 
+   * @return snapshot version.
+   */
+  long openSnapshot()
+  {
+    for(;;) {
+      long snapshot = clock.get();
+      snapshots.merge(snapshot, 1, Integer::sum);
+      // if a commit happened meanwhile it may have pruned versions before seeing this snapshot registered
+      if(clock.get() == snapshot) {
+        return snapshot;
+      }
+      releaseSnapshot(snapshot);
+    }
+  }
+
+  void releaseSnapshot(long snapshot)
+  {
+    snapshots.computeIfPresent(snapshot, (key, count) -> count > 1 ? count - 1 : null);
+  }
+
+  /**
+   * Get value visible to given snapshot.
+   * 
+   * @param key value key,
+   * @param snapshot snapshot version.
+   * @return value visible to snapshot or null if key does not exist on snapshot.
+   */
+  Object get(Object key, long snapshot)
+  {
+    for(Version version = heads.get(key); version != null; version = version.previous) {
+      if(version.number <= snapshot) {
+        return version.value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Atomically apply write set on top of given snapshot. Null values from write set are deletions. Commit fails if any
+   * written key was committed by other transaction after snapshot was taken.
+   * 
+   * @param writes write set,
+   * @param snapshot snapshot version the write set was computed on.
+   * @throws TransactionException if write-write conflict is detected.
+   */
+  synchronized void commit(Map<Object, Object> writes, long snapshot)
+  {
+    for(Object key : writes.keySet()) {
+      Version head = heads.get(key);
+      if(head != null && head.number > snapshot) {
+        throw new TransactionException("Write conflict on key |%s|. Concurrent transaction committed first.", key);
+      }
+    }
+
+    long number = clock.get() + 1;
+    for(Map.Entry<Object, Object> write : writes.entrySet()) {
+      heads.put(write.getKey(), new Version(number, write.getValue(), heads.get(write.getKey())));
+    }
+    clock.set(number);
+
+    Map.Entry<Long, Integer> oldest = snapshots.firstEntry();
+    long horizon = oldest != null ? Math.min(oldest.getKey(), number) : number;
+    for(Object key : writes.keySet()) {
+      prune(key, horizon);
+    }
+  }
+
+  /** Drop versions of given key hidden by a newer version that is visible to all snapshots. */
+  private void prune(Object key, long horizon)
+  {
+    Version head = heads.get(key);
+    for(Version version = head; version != null; version = version.previous) {
+      if(version.number <= horizon) {
+        version.previous = null;
+        break;
+      }
+    }
+    if(head != null && head.value == null && head.previous == null && head.number <= horizon) {
+      heads.remove(key, head);
+    }
+  }
+
+  /** Get the number of keys with at least one version, including deleted ones not pruned yet. */
+  int size()
+  {
+    return heads.size();
+  }
+
+  void clear()
+  {
+    heads.clear();
+  }
+
+  /** Committed version of a value; null value is a deletion. */
+  private static final class Version
+  {
+    final long number;
+    final Object value;
+    volatile Version previous;
+
+    Version(long number, Object value, Version previous)
+    {
+      this.number = number;
+      this.value = value;
+      this.previous = previous;
+    }
+  }
+}
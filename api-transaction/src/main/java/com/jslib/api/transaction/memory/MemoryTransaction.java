@@ -0,0 +1,155 @@
+package com.jslib.api.transaction.memory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jslib.api.transaction.Deadline;
+import com.jslib.api.transaction.Transaction;
+import com.jslib.api.transaction.TransactionException;
+
+/**
+ * Transaction on in-memory store. Snapshot is taken on transaction creation and released on outermost close. Nested
+ * transactions share this instance and only track nesting level: commit is applied and resources are released only by
+ * outermost transaction; rollback on a nested transaction marks this transaction as rollback only.
+ * <p>
+ * Savepoints are supported and are copies of the write set. Deadline is checked by session operations, similar to a
+ * statement timeout, and on commit.
+ * 
+ * @author Iulian Rotaru
+ */
+final class MemoryTransaction implements Transaction
+{
+  private final MemoryTransactionManager manager;
+  private final String schema;
+  private final MemoryStore store;
+  private final MemorySession session;
+
+  private int nestingLevel;
+  private boolean rollbackOnly;
+  private boolean completed;
+  private boolean closed;
+
+  MemoryTransaction(MemoryTransactionManager manager, String schema, MemoryStore store, boolean readOnly)
+  {
+    this.manager = manager;
+    this.schema = schema;
+    this.store = store;
+    this.session = new MemorySession(store, store.openSnapshot(), readOnly);
+  }
+
+  /** Join this transaction from a nested transactional method. */
+  void enter()
+  {
+    ++nestingLevel;
+  }
+
+  @Override
+  public void commit()
+  {
+    assertActive();
+    if(session.isReadOnly()) {
+      throw new IllegalStateException("Attempt to commit read-only transaction.");
+    }
+    if(nestingLevel > 0) {
+      return;
+    }
+    if(rollbackOnly) {
+      completed = true;
+      throw new TransactionException("Transaction on schema |%s| marked rollback only by nested transaction.", schema);
+    }
+    completed = true;
+    Deadline deadline = session.getDeadline();
+    if(deadline != null) {
+      deadline.check();
+    }
+    if(!session.getWrites().isEmpty()) {
+      store.commit(session.getWrites(), session.getSnapshot());
+    }
+  }
+
+  @Override
+  public void rollback()
+  {
+    if(session.isReadOnly()) {
+      throw new IllegalStateException("Attempt to rollback read-only transaction.");
+    }
+    if(completed && !closed) {
+      // commit failed and caller rolls back; write set was not applied
+      return;
+    }
+    assertActive();
+    if(nestingLevel > 0) {
+      rollbackOnly = true;
+      return;
+    }
+    completed = true;
+    session.getWrites().clear();
+  }
+
+  @Override
+  public boolean close()
+  {
+    if(closed) {
+      return true;
+    }
+    if(nestingLevel > 0) {
+      --nestingLevel;
+      return false;
+    }
+    closed = true;
+    store.releaseSnapshot(session.getSnapshot());
+    manager.onClose(this);
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <R> R getResourceManager()
+  {
+    return (R)session;
+  }
+
+  @Override
+  public void setDeadline(Deadline deadline)
+  {
+    session.setDeadline(Deadline.earlier(session.getDeadline(), deadline));
+  }
+
+  @Override
+  public Deadline getDeadline()
+  {
+    return session.getDeadline();
+  }
+
+  @Override
+  public Object setSavepoint()
+  {
+    assertActive();
+    return new LinkedHashMap<>(session.getWrites());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void rollback(Object savepoint)
+  {
+    assertActive();
+    session.setWrites(new LinkedHashMap<>((Map<Object, Object>)savepoint));
+  }
+
+  String getSchema()
+  {
+    return schema;
+  }
+
+  boolean isReadOnly()
+  {
+    return session.isReadOnly();
+  }
+
+  private void assertActive()
+  {
+    if(closed || completed) {
+      throw new IllegalStateException("Transaction already completed.");
+    }
+  }
+}
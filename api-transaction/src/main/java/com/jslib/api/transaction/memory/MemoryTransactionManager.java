@@ -0,0 +1,208 @@
+package com.jslib.api.transaction.memory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jslib.api.transaction.Transaction;
+import com.jslib.api.transaction.TransactionContext;
+import com.jslib.api.transaction.TransactionException;
+import com.jslib.api.transaction.TransactionManager;
+import com.jslib.api.transaction.WorkingUnit;
+
+/**
+ * Reference transaction manager over in-memory multi-version key-value stores, one store per transactional schema.
+ * Resource manager is {@link MemorySession}. It is intended as a fast and deterministic local stand-in for a database,
+ * for concurrency tests and for measuring the transaction layer own cost.
+ * <p>
+ * Transactions have snapshot isolation: a transaction sees the values committed before it started, plus its own
+ * writes. Read-only transactions take no locks. Concurrent transactions writing the same key are resolved by
+ * first-committer-wins rule: the later commit fails with {@link TransactionException}.
+ * <p>
+ * Nested transactions are tracked per thread and schema: creating a transaction while one on the same schema is active
+ * on current thread joins it, as required by {@link Transaction} contract. This manager is also the
+ * {@link TransactionContext}, returning the session of the transaction most recently created on current thread.
+ * 
+ * <pre>
+ * MemoryTransactionManager manager = new MemoryTransactionManager();
+ * manager.exec("bank", (MemorySession session, Object... args) -&gt; {
+ *   session.put("balance", 100);
+ *   return null;
+ * });
+ * </pre>
+ * 
+ * Besides nested transactions, all {@link com.jslib.api.transaction.Propagation} modes are supported: a new transaction
+ * suspends all transactions active on current thread and non-transactional execution uses an auto-commit session.
+ * <p>
+ * This class is not registered as service provider and should be instantiated directly.
+ * 
+ * @author Iulian Rotaru
+ */
+public class MemoryTransactionManager implements TransactionManager, TransactionContext
+{
+  private static final String DEFAULT_SCHEMA = "";
+
+  private final Map<String, MemoryStore> stores = new ConcurrentHashMap<>();
+
+  /** Active transactions of current thread, most recent first. */
+  private final ThreadLocal<Deque<MemoryTransaction>> transactions = ThreadLocal.withInitial(ArrayDeque::new);
+
+  @Override
+  public Transaction createTransaction(String schema)
+  {
+    return createTransaction(schema, false);
+  }
+
+  @Override
+  public Transaction createReadOnlyTransaction(String schema)
+  {
+    return createTransaction(schema, true);
+  }
+
+  private Transaction createTransaction(String schema, boolean readOnly)
+  {
+    String key = key(schema);
+    Deque<MemoryTransaction> stack = transactions.get();
+    MemoryTransaction transaction = find(stack, key);
+    if(transaction != null) {
+      if(transaction.isReadOnly() && !readOnly) {
+        throw new IllegalStateException("Attempt to create read-write transaction inside read-only transaction on schema " + key);
+      }
+      transaction.enter();
+      return transaction;
+    }
+    transaction = new MemoryTransaction(this, key, stores.computeIfAbsent(key, name -> new MemoryStore()), readOnly);
+    stack.push(transaction);
+    return transaction;
+  }
+
+  @Override
+  public <R, T> T exec(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Transaction transaction = createTransaction(schema);
+    try {
+      T value = workingUnit.exec(transaction.getResourceManager(), args);
+      transaction.commit();
+      return value;
+    }
+    catch(Exception e) {
+      transaction.rollback();
+      throw e instanceof TransactionException ? (TransactionException)e : new TransactionException(e);
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Override
+  public <R, T> T exec(WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    return exec(null, workingUnit, args);
+  }
+
+  @Override
+  public <R, T> T execInNewTransaction(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    Deque<MemoryTransaction> suspended = transactions.get();
+    transactions.set(new ArrayDeque<>());
+    try {
+      return exec(schema, workingUnit, args);
+    }
+    finally {
+      if(suspended.isEmpty()) {
+        transactions.remove();
+      }
+      else {
+        transactions.set(suspended);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <R, T> T execNonTransactional(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+  {
+    String key = key(schema);
+    MemorySession session = new MemorySession(stores.computeIfAbsent(key, name -> new MemoryStore()));
+    try {
+      return workingUnit.exec((R)session, args);
+    }
+    catch(TransactionException e) {
+      throw e;
+    }
+    catch(Exception e) {
+      throw new TransactionException(e);
+    }
+  }
+
+  @Override
+  public Transaction getCurrentTransaction(String schema)
+  {
+    return find(transactions.get(), key(schema));
+  }
+
+  @Override
+  public Transaction getTransaction()
+  {
+    return transactions.get().peek();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <R> R getResourceManager()
+  {
+    MemoryTransaction transaction = transactions.get().peek();
+    if(transaction == null) {
+      throw new IllegalStateException("No transaction active on current thread.");
+    }
+    return (R)transaction.getResourceManager();
+  }
+
+  /**
+   * Get the number of keys stored on given schema, including deleted keys not yet pruned. Returns zero if schema was
+   * not used.
+   * 
+   * @param schema optional transactional schema, null if not used.
+   * @return schema keys count.
+   */
+  public int size(String schema)
+  {
+    MemoryStore store = stores.get(key(schema));
+    return store != null ? store.size() : 0;
+  }
+
+  @Override
+  public void destroy()
+  {
+    for(MemoryStore store : stores.values()) {
+      store.clear();
+    }
+    stores.clear();
+  }
+
+  /** Remove closed outermost transaction from current thread. */
+  void onClose(MemoryTransaction transaction)
+  {
+    Deque<MemoryTransaction> stack = transactions.get();
+    stack.remove(transaction);
+    if(stack.isEmpty()) {
+      transactions.remove();
+    }
+  }
+
+  private static MemoryTransaction find(Deque<MemoryTransaction> stack, String schema)
+  {
+    for(MemoryTransaction transaction : stack) {
+      if(transaction.getSchema().equals(schema)) {
+        return transaction;
+      }
+    }
+    return null;
+  }
+
+  private static String key(String schema)
+  {
+    return schema != null ? schema : DEFAULT_SCHEMA;
+  }
+}
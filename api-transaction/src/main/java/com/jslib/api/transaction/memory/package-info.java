@@ -0,0 +1,9 @@
+/**
+ * In-memory reference implementation of transaction API, over a multi-version key-value store. It is a fast and
+ * deterministic local stand-in for a real database, intended for concurrency tests and for measuring the cost of the
+ * transaction layer itself. Not a service provider; instantiate {@link com.jslib.api.transaction.memory.MemoryTransactionManager}
+ * directly.
+ *
+ * @author Iulian Rotaru
+ */
+package com.jslib.api.transaction.memory;
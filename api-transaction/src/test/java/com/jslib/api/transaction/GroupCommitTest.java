@@ -0,0 +1,139 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.memory.MemorySession;
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+public class GroupCommitTest
+{
+  private static final int CALLERS = 8;
+
+  private MemoryTransactionManager manager;
+  private GroupCommit groupCommit;
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void beforeTest()
+  {
+    manager = new MemoryTransactionManager();
+    groupCommit = new GroupCommit(manager, "core", Duration.ofMillis(200), CALLERS);
+    executor = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @AfterEach
+  public void afterTest() throws InterruptedException
+  {
+    groupCommit.close();
+    executor.shutdownNow();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void GivenConcurrentCallers_WhenExec_ThenEveryCallerGetsOwnValue()
+  {
+    List<CompletableFuture<Integer>> futures = submit(index -> (MemorySession session, Object... args) -> {
+      session.put("key-" + index, index);
+      return index;
+    });
+
+    for(int i = 0; i < CALLERS; ++i) {
+      assertEquals(i, futures.get(i).join());
+    }
+    for(int i = 0; i < CALLERS; ++i) {
+      assertEquals(i, (int)read("key-" + i));
+    }
+  }
+
+  @Test
+  public void GivenFailingWorkingUnit_WhenExec_ThenOthersFallBackAndCommitOnce()
+  {
+    List<CompletableFuture<Integer>> futures = submit(index -> (MemorySession session, Object... args) -> {
+      if(index == 0) {
+        throw new IllegalStateException("fail");
+      }
+      Integer count = session.get("count-" + index);
+      session.put("count-" + index, count != null ? count + 1 : 1);
+      return index;
+    });
+
+    CompletionException exception = assertThrows(CompletionException.class, () -> futures.get(0).join());
+    assertTrue(exception.getCause() instanceof TransactionException);
+    for(int i = 1; i < CALLERS; ++i) {
+      assertEquals(i, futures.get(i).join());
+      // batch transaction is rolled back so working unit changes are committed only by fallback transaction
+      assertEquals(1, (int)read("count-" + i));
+    }
+  }
+
+  @Test
+  public void GivenEnclosingTransaction_WhenExec_ThenJoinIt()
+  {
+    String value = manager.exec("core", (MemorySession session, Object... args) -> {
+      session.put("key", "uncommitted");
+      // batched working unit would not see enclosing transaction uncommitted write
+      return groupCommit.exec((MemorySession nestedSession, Object... nestedArgs) -> nestedSession.get("key"));
+    });
+
+    assertEquals("uncommitted", value);
+  }
+
+  @Test
+  public void GivenClosed_WhenExec_ThenIllegalState()
+  {
+    groupCommit.close();
+
+    assertThrows(IllegalStateException.class, () -> groupCommit.exec((MemorySession session, Object... args) -> null));
+  }
+
+  private interface WorkingUnitFactory
+  {
+    WorkingUnit<MemorySession, Integer> create(int index);
+  }
+
+  private List<CompletableFuture<Integer>> submit(WorkingUnitFactory factory)
+  {
+    CountDownLatch start = new CountDownLatch(1);
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    for(int i = 0; i < CALLERS; ++i) {
+      WorkingUnit<MemorySession, Integer> workingUnit = factory.create(i);
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        await(start);
+        return groupCommit.exec(workingUnit);
+      }, executor));
+    }
+    start.countDown();
+    return futures;
+  }
+
+  private Integer read(String key)
+  {
+    return manager.exec("core", (MemorySession session, Object... args) -> session.get(key));
+  }
+
+  private static void await(CountDownLatch latch)
+  {
+    try {
+      latch.await();
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+public class InvocationCacheTest
+{
+  private MemoryTransactionManager manager;
+  private Method method;
+  private Object instance;
+
+  @BeforeEach
+  public void beforeTest() throws NoSuchMethodException
+  {
+    manager = new MemoryTransactionManager();
+    method = Object.class.getMethod("toString");
+    instance = new Object();
+  }
+
+  @Test
+  public void GivenSameTransaction_WhenOpenNested_ThenShareCache()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      InvocationCache cache = InvocationCache.open(transaction);
+      cache.put(instance, method, new Object[] { 1 }, "value");
+
+      InvocationCache nested = InvocationCache.open(transaction);
+      assertSame(cache, nested);
+      assertEquals("value", nested.get(instance, method, new Object[] { 1 }));
+      assertSame(InvocationCache.MISS, nested.get(instance, method, new Object[] { 2 }));
+      assertFalse(nested.close());
+
+      assertTrue(cache.close());
+      InvocationCache reopened = InvocationCache.open(transaction);
+      assertSame(InvocationCache.MISS, reopened.get(instance, method, new Object[] { 1 }));
+      reopened.close();
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Test
+  public void GivenNewTransaction_WhenOpen_ThenDoNotShareCache()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      InvocationCache cache = InvocationCache.open(transaction);
+      cache.put(instance, method, null, "value");
+
+      manager.execInNewTransaction("core", (Object session, Object... args) -> {
+        InvocationCache newCache = InvocationCache.open(manager.getCurrentTransaction("core"));
+        try {
+          assertNotSame(cache, newCache);
+          assertSame(InvocationCache.MISS, newCache.get(instance, method, null));
+        }
+        finally {
+          newCache.close();
+        }
+        return null;
+      });
+
+      assertEquals("value", cache.get(instance, method, null));
+      cache.close();
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Test
+  public void GivenNestedTransactionCache_WhenInvalidate_ThenEnclosingCacheCleared()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      InvocationCache cache = InvocationCache.open(transaction);
+      cache.put(instance, method, null, "value");
+
+      manager.exec("audit", (Object session, Object... args) -> {
+        InvocationCache auditCache = InvocationCache.open(manager.getCurrentTransaction("audit"));
+        try {
+          auditCache.invalidate();
+        }
+        finally {
+          auditCache.close();
+        }
+        return null;
+      });
+
+      assertSame(InvocationCache.MISS, cache.get(instance, method, null));
+      cache.close();
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Test
+  public void GivenArgumentsArray_WhenPut_ThenCopied()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      InvocationCache cache = InvocationCache.open(transaction);
+      Object[] args = new Object[] { 1 };
+      cache.put(instance, method, args, "value");
+      args[0] = 2;
+
+      assertEquals("value", cache.get(instance, method, new Object[] { 1 }));
+      cache.close();
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Test
+  public void GivenNullTransaction_WhenOpen_ThenIllegalArgument()
+  {
+    assertThrows(IllegalArgumentException.class, () -> InvocationCache.open(null));
+  }
+}
@@ -0,0 +1,130 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.memory.MemorySession;
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+public class PartitionsTest
+{
+  @Test
+  public void GivenKeysRange_WhenRanges_ThenContiguousAndBalanced()
+  {
+    List<Partitions.Range> ranges = Partitions.ranges(0, 10, 3);
+
+    assertEquals(3, ranges.size());
+    assertRange(0, 4, ranges.get(0));
+    assertRange(4, 7, ranges.get(1));
+    assertRange(7, 10, ranges.get(2));
+  }
+
+  @Test
+  public void GivenFullLongRange_WhenRanges_ThenDoNotOverflow()
+  {
+    List<Partitions.Range> ranges = Partitions.ranges(Long.MIN_VALUE, Long.MAX_VALUE, 4);
+
+    assertEquals(4, ranges.size());
+    assertEquals(Long.MIN_VALUE, ranges.get(0).getStart());
+    assertEquals(Long.MAX_VALUE, ranges.get(3).getEnd());
+    for(int i = 0; i < ranges.size(); ++i) {
+      Partitions.Range range = ranges.get(i);
+      assertTrue(range.getStart() < range.getEnd());
+      if(i > 0) {
+        assertEquals(ranges.get(i - 1).getEnd(), range.getStart());
+      }
+    }
+  }
+
+  @Test
+  public void GivenKeysRangeSmallerThanCount_WhenRanges_ThenOneKeyPerRange()
+  {
+    List<Partitions.Range> ranges = Partitions.ranges(0, 3, 5);
+
+    assertEquals(3, ranges.size());
+    assertRange(2, 3, ranges.get(2));
+  }
+
+  @Test
+  public void GivenEmptyKeysRange_WhenRanges_ThenEmpty()
+  {
+    assertTrue(Partitions.ranges(5, 5, 2).isEmpty());
+    assertTrue(Partitions.ranges(5, 1, 2).isEmpty());
+  }
+
+  @Test
+  public void GivenNotPositiveCount_WhenRanges_ThenIllegalArgument()
+  {
+    assertThrows(IllegalArgumentException.class, () -> Partitions.ranges(0, 10, 0));
+  }
+
+  @Test
+  public void GivenList_WhenChunks_ThenLastChunkSmaller()
+  {
+    List<List<Integer>> chunks = Partitions.chunks(Arrays.asList(1, 2, 3, 4, 5), 2);
+
+    assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), chunks);
+    assertThrows(IllegalArgumentException.class, () -> Partitions.chunks(Arrays.asList(1), 0));
+  }
+
+  @Test
+  public void GivenFailingPartition_WhenExecPartitioned_ThenOthersCommitted()
+  {
+    MemoryTransactionManager manager = new MemoryTransactionManager();
+    List<Partitions.Range> ranges = Partitions.ranges(0, 100, 10);
+
+    PartitionResult<Partitions.Range, Long> result = manager.execPartitioned("core", ranges, 3, (MemorySession session, Object... args) -> {
+      Partitions.Range range = (Partitions.Range)args[0];
+      session.put(range.getStart(), range.getEnd());
+      if(range.getStart() == 50) {
+        throw new IllegalStateException("fail");
+      }
+      return range.getEnd() - range.getStart();
+    });
+
+    assertFalse(result.isSuccess());
+    assertEquals(1, result.getFailed().size());
+    assertEquals(50, result.getFailed().get(0).getStart());
+    assertTrue(result.getException(5) instanceof TransactionException);
+    for(int i = 0; i < ranges.size(); ++i) {
+      if(i != 5) {
+        assertTrue(result.isCommitted(i));
+        assertEquals(10L, result.getValue(i));
+      }
+    }
+    // failed partition transaction is rolled back
+    assertEquals(9, manager.size("core"));
+  }
+
+  @Test
+  public void GivenParallelism_WhenExecPartitioned_ThenRunningPartitionsBounded()
+  {
+    MemoryTransactionManager manager = new MemoryTransactionManager();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    PartitionResult<Partitions.Range, Integer> result = manager.execPartitioned("core", Partitions.ranges(0, 32, 32), 4, (MemorySession session, Object... args) -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      Thread.sleep(2);
+      running.decrementAndGet();
+      return 1;
+    });
+
+    assertTrue(result.isSuccess());
+    assertTrue(maxRunning.get() <= 4);
+  }
+
+  private static void assertRange(long start, long end, Partitions.Range range)
+  {
+    assertEquals(start, range.getStart());
+    assertEquals(end, range.getEnd());
+  }
+}
@@ -0,0 +1,132 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.memory.MemorySession;
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+public class PropagationTest
+{
+  private MemoryTransactionManager manager;
+
+  @BeforeEach
+  public void beforeTest()
+  {
+    manager = new MemoryTransactionManager();
+  }
+
+  @Test
+  public void GivenEnclosingTransaction_WhenNestedFails_ThenRollbackToSavepointOnly()
+  {
+    manager.exec("core", (MemorySession session, Object... args) -> {
+      session.put("outer", "outer");
+      assertThrows(TransactionException.class, () -> manager.exec(Propagation.NESTED, "core", (MemorySession nestedSession, Object... nestedArgs) -> {
+        nestedSession.put("inner", "inner");
+        throw new IllegalStateException("fail");
+      }));
+      return null;
+    });
+
+    assertEquals("outer", read("outer"));
+    assertNull(read("inner"));
+  }
+
+  @Test
+  public void GivenEnclosingTransaction_WhenNestedSucceeds_ThenCommitWithEnclosing()
+  {
+    manager.exec("core", (MemorySession session, Object... args) -> {
+      manager.exec(Propagation.NESTED, "core", (MemorySession nestedSession, Object... nestedArgs) -> {
+        nestedSession.put("inner", "inner");
+        return null;
+      });
+      // nested changes are visible to enclosing transaction before commit
+      assertEquals("inner", session.get("inner"));
+      return null;
+    });
+
+    assertEquals("inner", read("inner"));
+  }
+
+  @Test
+  public void GivenEnclosingTransactionRollback_WhenNestedSucceeded_ThenDiscardNestedChanges()
+  {
+    assertThrows(TransactionException.class, () -> manager.exec("core", (MemorySession session, Object... args) -> {
+      manager.exec(Propagation.NESTED, "core", (MemorySession nestedSession, Object... nestedArgs) -> {
+        nestedSession.put("inner", "inner");
+        return null;
+      });
+      throw new IllegalStateException("fail");
+    }));
+
+    assertNull(read("inner"));
+  }
+
+  @Test
+  public void GivenNoEnclosingTransaction_WhenNested_ThenRunInNewTransaction()
+  {
+    manager.exec(Propagation.NESTED, "core", (MemorySession session, Object... args) -> {
+      session.put("key", "value");
+      return null;
+    });
+
+    assertEquals("value", read("key"));
+  }
+
+  @Test
+  public void GivenEnclosingTransaction_WhenSupports_ThenJoinIt()
+  {
+    assertThrows(TransactionException.class, () -> manager.exec("core", (MemorySession session, Object... args) -> {
+      session.put("outer", "uncommitted");
+      String value = manager.exec(Propagation.SUPPORTS, "core", (MemorySession joinedSession, Object... joinedArgs) -> {
+        joinedSession.put("joined", "joined");
+        return joinedSession.get("outer");
+      });
+      assertEquals("uncommitted", value);
+      throw new IllegalStateException("fail");
+    }));
+
+    // joined working unit is rolled back together with enclosing transaction
+    assertNull(read("outer"));
+    assertNull(read("joined"));
+  }
+
+  @Test
+  public void GivenNoEnclosingTransaction_WhenSupports_ThenAutoCommit()
+  {
+    assertThrows(TransactionException.class, () -> manager.exec(Propagation.SUPPORTS, "core", (MemorySession session, Object... args) -> {
+      session.put("key", "value");
+      throw new IllegalStateException("fail");
+    }));
+
+    // there is no transaction to roll back
+    assertEquals("value", read("key"));
+  }
+
+  @Test
+  public void GivenEnclosingTransaction_WhenRequiresNew_ThenCommitIndependently()
+  {
+    assertThrows(TransactionException.class, () -> manager.exec("core", (MemorySession session, Object... args) -> {
+      session.put("outer", "outer");
+      manager.exec(Propagation.REQUIRES_NEW, "core", (MemorySession newSession, Object... newArgs) -> {
+        // enclosing transaction is suspended and its changes are not visible
+        assertNull(newSession.get("outer"));
+        newSession.put("inner", "inner");
+        return null;
+      });
+      throw new IllegalStateException("fail");
+    }));
+
+    assertNull(read("outer"));
+    assertEquals("inner", read("inner"));
+  }
+
+  private String read(String key)
+  {
+    return manager.exec("core", (MemorySession session, Object... args) -> session.get(key));
+  }
+}
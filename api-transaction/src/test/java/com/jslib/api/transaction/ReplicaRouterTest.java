@@ -0,0 +1,91 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.memory.MemorySession;
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+public class ReplicaRouterTest
+{
+  private MemoryTransactionManager primary;
+  private MemoryTransactionManager replica;
+  private ReplicaRouter router;
+
+  @BeforeEach
+  public void beforeTest()
+  {
+    primary = new MemoryTransactionManager();
+    replica = new MemoryTransactionManager();
+    write(primary, "primary");
+    write(replica, "replica");
+
+    router = new ReplicaRouter(primary);
+    router.addReplica("core", replica);
+  }
+
+  @Test
+  public void GivenReplica_WhenExecReadOnly_ThenRouteToReplica()
+  {
+    assertEquals("replica", router.execReadOnly("core", (MemorySession session, Object... args) -> session.get("source")));
+    assertEquals("primary", router.execReadOnly("audit", (MemorySession session, Object... args) -> session.get("source")));
+  }
+
+  @Test
+  public void GivenReplicaTransaction_WhenNestedReadOnly_ThenJoinSameReplicaTransaction()
+  {
+    router.execReadOnly("core", (MemorySession session, Object... args) -> {
+      MemorySession nested = router.execReadOnly("core", (MemorySession nestedSession, Object... nestedArgs) -> nestedSession);
+      assertSame(session, nested);
+      return null;
+    });
+
+    // replica transaction is released by outermost close
+    assertNull(router.getCurrentTransaction("core"));
+  }
+
+  @Test
+  public void GivenPrimaryTransaction_WhenNestedReadOnly_ThenJoinPrimary()
+  {
+    router.exec("core", (MemorySession session, Object... args) -> {
+      session.put("source", "uncommitted");
+      String value = router.execReadOnly("core", (MemorySession nestedSession, Object... nestedArgs) -> nestedSession.get("source"));
+      assertEquals("uncommitted", value);
+      return null;
+    });
+  }
+
+  @Test
+  public void GivenFailingReplica_WhenExecReadOnly_ThenFallBackToPrimary()
+  {
+    router = new ReplicaRouter(primary);
+    router.setRetryInterval(Duration.ofMinutes(1));
+    router.addReplica("core", new MemoryTransactionManager()
+    {
+      @Override
+      public Transaction createReadOnlyTransaction(String schema)
+      {
+        throw new TransactionException("replica down");
+      }
+    });
+
+    assertEquals("primary", router.execReadOnly("core", (MemorySession session, Object... args) -> session.get("source")));
+    assertEquals("primary", router.execReadOnly("core", (MemorySession session, Object... args) -> session.get("source")));
+  }
+
+  private static void write(TransactionManager manager, String source)
+  {
+    for(String schema : new String[] { "core", "audit" }) {
+      manager.exec(schema, (MemorySession session, Object... args) -> {
+        session.put("source", source);
+        return null;
+      });
+    }
+  }
+}
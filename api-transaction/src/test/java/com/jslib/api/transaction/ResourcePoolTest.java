@@ -0,0 +1,147 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ResourcePoolTest
+{
+  @Test
+  public void GivenConcurrentBorrowers_WhenBorrow_ThenNeverExceedMaxSize() throws Exception
+  {
+    AtomicInteger live = new AtomicInteger();
+    AtomicInteger maxLive = new AtomicInteger();
+    AtomicInteger borrowed = new AtomicInteger();
+    AtomicInteger maxBorrowed = new AtomicInteger();
+    ResourcePool<Object> pool = new ResourcePool<>("core", new ResourcePool.Factory<Object>()
+    {
+      @Override
+      public Object create()
+      {
+        maxLive.accumulateAndGet(live.incrementAndGet(), Math::max);
+        return new Object();
+      }
+
+      @Override
+      public void destroy(Object resourceManager)
+      {
+        live.decrementAndGet();
+      }
+    }, 4);
+
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for(int i = 0; i < 16; ++i) {
+        futures.add(executor.submit(() -> {
+          for(int j = 0; j < 200; ++j) {
+            Object resourceManager = pool.borrow();
+            maxBorrowed.accumulateAndGet(borrowed.incrementAndGet(), Math::max);
+            borrowed.decrementAndGet();
+            pool.release(resourceManager);
+          }
+        }));
+      }
+      for(Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    assertTrue(maxLive.get() <= 4);
+    assertTrue(maxBorrowed.get() <= 4);
+    pool.close();
+    assertEquals(0, live.get());
+  }
+
+  @Test
+  public void GivenExhaustedPool_WhenBorrow_ThenTimeout()
+  {
+    ResourcePool<Object> pool = new ResourcePool<>("core", Object::new, 1);
+    pool.setBorrowTimeout(Duration.ofMillis(10));
+    Object resourceManager = pool.borrow();
+
+    assertThrows(TransactionException.class, () -> pool.borrow());
+    assertEquals(1, pool.getExhaustedCount());
+
+    pool.release(resourceManager);
+    assertSame(resourceManager, pool.borrow());
+  }
+
+  @Test
+  public void GivenInvalidResourceManager_WhenBorrow_ThenDestroyAndCreateNew()
+  {
+    AtomicInteger destroyed = new AtomicInteger();
+    ResourcePool<Object> pool = new ResourcePool<>("core", new ResourcePool.Factory<Object>()
+    {
+      @Override
+      public Object create()
+      {
+        return new Object();
+      }
+
+      @Override
+      public boolean validate(Object resourceManager)
+      {
+        return false;
+      }
+
+      @Override
+      public void destroy(Object resourceManager)
+      {
+        destroyed.incrementAndGet();
+      }
+    }, 1);
+    Object resourceManager = pool.borrow();
+    pool.release(resourceManager);
+
+    Object other = pool.borrow();
+    assertTrue(other != resourceManager);
+    assertEquals(1, destroyed.get());
+  }
+
+  @Test
+  public void GivenClosedPool_WhenBorrow_ThenIllegalState()
+  {
+    AtomicInteger destroyed = new AtomicInteger();
+    ResourcePool<Object> pool = new ResourcePool<>("core", new ResourcePool.Factory<Object>()
+    {
+      @Override
+      public Object create()
+      {
+        return new Object();
+      }
+
+      @Override
+      public void destroy(Object resourceManager)
+      {
+        destroyed.incrementAndGet();
+      }
+    }, 2);
+    pool.setMinIdle(1);
+    pool.warmUp();
+    Object resourceManager = pool.borrow();
+
+    pool.close();
+    pool.close();
+    assertThrows(IllegalStateException.class, () -> pool.borrow());
+
+    // borrowed resource manager is destroyed on release
+    pool.release(resourceManager);
+    assertEquals(1, destroyed.get());
+  }
+}
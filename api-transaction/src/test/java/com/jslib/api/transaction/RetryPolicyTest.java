@@ -0,0 +1,160 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.memory.MemorySession;
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+public class RetryPolicyTest
+{
+  private RetryPolicy policy;
+
+  @BeforeEach
+  public void beforeTest()
+  {
+    policy = new RetryPolicy();
+    policy.setDelay(Duration.ZERO);
+  }
+
+  @Test
+  public void GivenTransientErrors_WhenIsTransient_ThenTrue()
+  {
+    assertTrue(RetryPolicy.isTransient(new SQLTransactionRollbackException("deadlock")));
+    assertTrue(RetryPolicy.isTransient(new SQLException("serialization failure", "40001")));
+    assertTrue(RetryPolicy.isTransient(new TransactionException(new SQLException("deadlock", "40P01"))));
+    assertTrue(RetryPolicy.isTransient(new OptimisticLockException()));
+  }
+
+  @Test
+  public void GivenPermanentErrors_WhenIsTransient_ThenFalse()
+  {
+    assertFalse(RetryPolicy.isTransient(new SQLException("unique violation", "23505")));
+    assertFalse(RetryPolicy.isTransient(new SQLException("no state")));
+    assertFalse(RetryPolicy.isTransient(new IllegalStateException()));
+  }
+
+  @Test
+  public void GivenTransientFailure_WhenCall_ThenRetryTillSuccess() throws Exception
+  {
+    AtomicInteger attempts = new AtomicInteger();
+
+    String value = policy.call(() -> {
+      if(attempts.incrementAndGet() < 3) {
+        throw new SQLException("serialization failure", "40001");
+      }
+      return "value";
+    }, null);
+
+    assertEquals("value", value);
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  public void GivenPersistentTransientFailure_WhenCall_ThenStopAtMaxAttempts()
+  {
+    AtomicInteger attempts = new AtomicInteger();
+    SQLException exception = new SQLException("serialization failure", "40001");
+
+    Exception thrown = assertThrows(SQLException.class, () -> policy.call(() -> {
+      attempts.incrementAndGet();
+      throw exception;
+    }, null));
+
+    assertSame(exception, thrown);
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  public void GivenPermanentFailure_WhenCall_ThenDoNotRetry()
+  {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(IllegalStateException.class, () -> policy.call(() -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException();
+    }, null));
+
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  public void GivenExhaustedBudget_WhenCall_ThenDoNotRetry()
+  {
+    policy.setMaxAttempts(100);
+    // no deposits; only initial budget of ten retries is available
+    policy.setBudget(0, 0);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(SQLException.class, () -> policy.call(() -> {
+      attempts.incrementAndGet();
+      throw new SQLException("serialization failure", "40001");
+    }, null));
+    assertEquals(11, attempts.get());
+
+    attempts.set(0);
+    assertThrows(SQLException.class, () -> policy.call(() -> {
+      attempts.incrementAndGet();
+      throw new SQLException("serialization failure", "40001");
+    }, null));
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  public void GivenRetryingManager_WhenTransientFailure_ThenRetryOnNewTransaction()
+  {
+    MemoryTransactionManager memoryManager = new MemoryTransactionManager();
+    RetryingTransactionManager manager = new RetryingTransactionManager(memoryManager);
+    manager.setDefaultRetryPolicy(policy);
+    AtomicInteger attempts = new AtomicInteger();
+
+    Integer value = manager.exec("core", (MemorySession session, Object... args) -> {
+      Integer count = session.get("count");
+      session.put("count", count != null ? count + 1 : 1);
+      if(attempts.incrementAndGet() == 1) {
+        throw new SQLException("serialization failure", "40001");
+      }
+      return session.get("count");
+    });
+
+    // first attempt write is rolled back
+    assertEquals(1, value);
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  public void GivenEnclosingTransaction_WhenRetryingManagerExec_ThenDoNotRetry()
+  {
+    MemoryTransactionManager memoryManager = new MemoryTransactionManager();
+    RetryingTransactionManager manager = new RetryingTransactionManager(memoryManager);
+    manager.setDefaultRetryPolicy(policy);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(TransactionException.class, () -> memoryManager.exec("core", (MemorySession session, Object... args) -> {
+      return manager.exec("core", (MemorySession nestedSession, Object... nestedArgs) -> {
+        attempts.incrementAndGet();
+        throw new SQLException("serialization failure", "40001");
+      });
+    }));
+
+    // retry inside enclosing transaction would run on the same, already failed, transaction
+    assertEquals(1, attempts.get());
+  }
+
+  /** Matched by simple class name, as persistence engines exceptions. */
+  private static class OptimisticLockException extends RuntimeException
+  {
+    private static final long serialVersionUID = 1L;
+  }
+}
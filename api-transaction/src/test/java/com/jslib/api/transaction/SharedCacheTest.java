@@ -0,0 +1,125 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SharedCacheTest
+{
+  private static final String[] USER = new String[] { "user" };
+  private static final String[] ORDER = new String[] { "order" };
+
+  private SharedCache cache;
+  private Method method;
+
+  @BeforeEach
+  public void beforeTest() throws NoSuchMethodException
+  {
+    cache = new SharedCache(100, Duration.ofMinutes(1));
+    method = Object.class.getMethod("toString");
+  }
+
+  @Test
+  public void GivenStoredResult_WhenGet_ThenHit()
+  {
+    cache.put("core", method, args(1), USER, "user-1", cache.version());
+
+    assertEquals("user-1", cache.get("core", method, args(1)));
+    assertSame(SharedCache.MISS, cache.get("core", method, args(2)));
+    assertSame(SharedCache.MISS, cache.get("audit", method, args(1)));
+  }
+
+  @Test
+  public void GivenMarkedTags_WhenCommit_ThenInvalidateOnlyTaggedResults()
+  {
+    cache.put("core", method, args(1), USER, "user-1", cache.version());
+    cache.put("core", method, args(2), ORDER, "order-2", cache.version());
+
+    cache.mark(USER);
+    cache.commit();
+
+    assertSame(SharedCache.MISS, cache.get("core", method, args(1)));
+    assertEquals("order-2", cache.get("core", method, args(2)));
+  }
+
+  @Test
+  public void GivenMarkedTags_WhenRollback_ThenKeepResults()
+  {
+    cache.put("core", method, args(1), USER, "user-1", cache.version());
+
+    cache.mark(USER);
+    cache.rollback();
+
+    assertEquals("user-1", cache.get("core", method, args(1)));
+  }
+
+  @Test
+  public void GivenMarkedTags_WhenRollback_ThenRemoveResultsStoredByTransaction()
+  {
+    cache.mark(USER);
+    cache.put("core", method, args(2), ORDER, "order-2", cache.version());
+    cache.rollback();
+
+    assertSame(SharedCache.MISS, cache.get("core", method, args(2)));
+  }
+
+  @Test
+  public void GivenMarkedTags_WhenGetAndPutOnSameThread_ThenBypassCache()
+  {
+    cache.put("core", method, args(1), USER, "user-1", cache.version());
+
+    cache.mark(USER);
+    assertSame(SharedCache.MISS, cache.get("core", method, args(1)));
+    cache.put("core", method, args(3), USER, "uncommitted", cache.version());
+    assertSame(SharedCache.MISS, cache.get("core", method, args(3)));
+
+    // other transactions still see committed result
+    assertEquals("user-1", CompletableFuture.supplyAsync(() -> cache.get("core", method, args(1))).join());
+    cache.rollback();
+  }
+
+  @Test
+  public void GivenInvalidationAfterVersion_WhenPut_ThenDoNotStore()
+  {
+    long version = cache.version();
+    cache.invalidate(Arrays.asList(USER));
+    cache.put("core", method, args(1), USER, "stale", version);
+
+    assertSame(SharedCache.MISS, cache.get("core", method, args(1)));
+  }
+
+  @Test
+  public void GivenSizeLimit_WhenPut_ThenEvictOldest()
+  {
+    cache = new SharedCache(2, Duration.ofMinutes(1));
+    cache.put("core", method, args(1), USER, "user-1", cache.version());
+    cache.put("core", method, args(2), USER, "user-2", cache.version());
+    cache.put("core", method, args(3), USER, "user-3", cache.version());
+
+    assertSame(SharedCache.MISS, cache.get("core", method, args(1)));
+    assertEquals("user-2", cache.get("core", method, args(2)));
+    assertEquals("user-3", cache.get("core", method, args(3)));
+  }
+
+  @Test
+  public void GivenExpiredResult_WhenGet_ThenMiss() throws InterruptedException
+  {
+    cache = new SharedCache(100, Duration.ofNanos(1));
+    cache.put("core", method, args(1), USER, "user-1", cache.version());
+    Thread.sleep(1);
+
+    assertSame(SharedCache.MISS, cache.get("core", method, args(1)));
+  }
+
+  private static Object[] args(Object... args)
+  {
+    return args;
+  }
+}
@@ -0,0 +1,97 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.memory.MemorySession;
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+public class TransactionExecutorTest
+{
+  @Test
+  public void GivenMaxConcurrency_WhenExecAsync_ThenRunningWorkingUnitsBounded() throws InterruptedException
+  {
+    ExecutorService pool = Executors.newFixedThreadPool(16);
+    try {
+      TransactionExecutor executor = new TransactionExecutor(new MemoryTransactionManager());
+      executor.setExecutor(pool);
+      executor.setMaxConcurrency("core", 2);
+
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger maxRunning = new AtomicInteger();
+      WorkingUnit<MemorySession, Integer> workingUnit = (MemorySession session, Object... args) -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        Thread.sleep(5);
+        running.decrementAndGet();
+        return (Integer)args[0];
+      };
+
+      List<CompletableFuture<Integer>> futures = new ArrayList<>();
+      for(int i = 0; i < 32; ++i) {
+        futures.add(executor.execAsync("core", workingUnit, i));
+      }
+      for(int i = 0; i < futures.size(); ++i) {
+        assertEquals(i, futures.get(i).join());
+      }
+      assertTrue(maxRunning.get() <= 2);
+    }
+    finally {
+      pool.shutdownNow();
+      pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void GivenRejectingExecutor_WhenExecAsync_ThenFutureFailsAndSlotReleased()
+  {
+    TransactionExecutor executor = new TransactionExecutor(new MemoryTransactionManager());
+    executor.setMaxConcurrency("core", 1);
+    executor.setExecutor(task -> {
+      throw new RejectedExecutionException();
+    });
+    WorkingUnit<MemorySession, Integer> workingUnit = (MemorySession session, Object... args) -> 1;
+
+    CompletionException exception = assertThrows(CompletionException.class, () -> executor.execAsync("core", workingUnit).join());
+    assertTrue(exception.getCause() instanceof TransactionException);
+
+    // rejected working unit does not keep its slot
+    executor.setExecutor(Runnable::run);
+    assertEquals(1, executor.execAsync("core", workingUnit).join());
+  }
+
+  @Test
+  public void GivenFailingWorkingUnit_WhenExecAsync_ThenFutureFails()
+  {
+    TransactionExecutor executor = new TransactionExecutor(new MemoryTransactionManager());
+    executor.setExecutor(Runnable::run);
+    WorkingUnit<MemorySession, Integer> workingUnit = (MemorySession session, Object... args) -> {
+      throw new IllegalStateException("fail");
+    };
+
+    CompletionException exception = assertThrows(CompletionException.class, () -> executor.execAsync("core", workingUnit).join());
+    assertTrue(exception.getCause() instanceof TransactionException);
+  }
+
+  @Test
+  public void GivenTransactionManager_WhenOf_ThenReturnSharedExecutor()
+  {
+    MemoryTransactionManager manager = new MemoryTransactionManager();
+
+    assertSame(TransactionExecutor.of(manager), TransactionExecutor.of(manager));
+    assertEquals(3, manager.execAsync("core", (MemorySession session, Object... args) -> 3).join());
+  }
+}
@@ -0,0 +1,171 @@
+package com.jslib.api.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.memory.MemorySession;
+import com.jslib.api.transaction.memory.MemoryTransactionManager;
+
+public class TransactionManagerTest
+{
+  @Test
+  public void GivenFailingRollback_WhenExec_ThenKeepWorkingUnitFailure()
+  {
+    TransactionManager manager = new FailingRollbackManager();
+    IllegalStateException failure = new IllegalStateException("fail");
+
+    TransactionException exception = assertThrows(TransactionException.class, () -> manager.exec("core", (Object session) -> {
+      throw failure;
+    }));
+
+    assertSame(failure, exception.getCause());
+    assertEquals(1, exception.getSuppressed().length);
+    assertEquals("rollback", exception.getSuppressed()[0].getMessage());
+  }
+
+  @Test
+  public void GivenFailingRollback_WhenExecWithDeadline_ThenKeepWorkingUnitFailure()
+  {
+    TransactionManager manager = new FailingRollbackManager();
+    IllegalStateException failure = new IllegalStateException("fail");
+
+    TransactionException exception = assertThrows(TransactionException.class, () -> manager.exec((Deadline)null, "core", (Object session, Object... args) -> {
+      throw failure;
+    }));
+
+    assertSame(failure, exception.getCause());
+    assertEquals(1, exception.getSuppressed().length);
+  }
+
+  @Test
+  public void GivenFailingSavepointRollback_WhenExecNested_ThenKeepWorkingUnitFailure()
+  {
+    FailingRollbackManager manager = new FailingRollbackManager();
+    manager.current = new FailingRollbackTransaction();
+    IllegalStateException failure = new IllegalStateException("fail");
+
+    TransactionException exception = assertThrows(TransactionException.class, () -> manager.exec(Propagation.NESTED, "core", (Object session, Object... args) -> {
+      throw failure;
+    }));
+
+    assertSame(failure, exception.getCause());
+    assertEquals(1, exception.getSuppressed().length);
+  }
+
+  @Test
+  public void GivenCommitInterval_WhenExecBatch_ThenFailureRollsBackOnlyItsTransaction()
+  {
+    MemoryTransactionManager manager = new MemoryTransactionManager();
+    List<WorkingUnit<MemorySession, Integer>> workingUnits = Arrays.asList(unit(0), unit(1), unit(2), failingUnit(), unit(4), unit(5));
+
+    BatchResult<Integer> result = manager.execBatch("core", workingUnits, 2);
+
+    assertEquals(BatchResult.Outcome.COMMITTED, result.getOutcome(0));
+    assertEquals(BatchResult.Outcome.COMMITTED, result.getOutcome(1));
+    assertEquals(BatchResult.Outcome.ROLLED_BACK, result.getOutcome(2));
+    assertEquals(BatchResult.Outcome.FAILED, result.getOutcome(3));
+    assertEquals(BatchResult.Outcome.COMMITTED, result.getOutcome(4));
+    assertEquals(BatchResult.Outcome.COMMITTED, result.getOutcome(5));
+    assertEquals(Arrays.asList(2, 3), result.getUncommitted());
+    assertEquals(4, manager.size("core"));
+  }
+
+  private static WorkingUnit<MemorySession, Integer> unit(int index)
+  {
+    return (MemorySession session, Object... args) -> {
+      session.put(index, index);
+      return index;
+    };
+  }
+
+  private static WorkingUnit<MemorySession, Integer> failingUnit()
+  {
+    return (MemorySession session, Object... args) -> {
+      throw new IllegalStateException("fail");
+    };
+  }
+
+  private static class FailingRollbackManager implements TransactionManager
+  {
+    Transaction current;
+
+    @Override
+    public Transaction createTransaction(String schema)
+    {
+      return new FailingRollbackTransaction();
+    }
+
+    @Override
+    public Transaction createReadOnlyTransaction(String schema)
+    {
+      return new FailingRollbackTransaction();
+    }
+
+    @Override
+    public <R, T> T exec(String schema, WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <R, T> T exec(WorkingUnit<R, T> workingUnit, Object... args) throws TransactionException
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Transaction getCurrentTransaction(String schema)
+    {
+      return current;
+    }
+
+    @Override
+    public void destroy()
+    {
+    }
+  }
+
+  private static class FailingRollbackTransaction implements Transaction
+  {
+    @Override
+    public void commit()
+    {
+    }
+
+    @Override
+    public void rollback()
+    {
+      throw new TransactionException("rollback");
+    }
+
+    @Override
+    public boolean close()
+    {
+      return true;
+    }
+
+    @Override
+    public <R> R getResourceManager()
+    {
+      return null;
+    }
+
+    @Override
+    public Object setSavepoint()
+    {
+      return new Object();
+    }
+
+    @Override
+    public void rollback(Object savepoint)
+    {
+      throw new TransactionException("rollback");
+    }
+  }
+}
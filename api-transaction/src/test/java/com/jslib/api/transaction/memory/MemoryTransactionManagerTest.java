@@ -0,0 +1,229 @@
+package com.jslib.api.transaction.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jslib.api.transaction.Transaction;
+import com.jslib.api.transaction.TransactionException;
+
+public class MemoryTransactionManagerTest
+{
+  private MemoryTransactionManager manager;
+
+  @BeforeEach
+  public void beforeTest()
+  {
+    manager = new MemoryTransactionManager();
+    write("core", "balance", 100);
+  }
+
+  @Test
+  public void GivenConcurrentCommit_WhenRead_ThenSeeSnapshot()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      MemorySession session = transaction.getResourceManager();
+      assertEquals(100, (int)session.get("balance"));
+
+      runOnOtherThread(() -> write("core", "balance", 200));
+
+      // snapshot taken at transaction start is repeatable
+      assertEquals(100, (int)session.get("balance"));
+      transaction.commit();
+    }
+    finally {
+      transaction.close();
+    }
+    assertEquals(200, read("core", "balance"));
+  }
+
+  @Test
+  public void GivenOwnWrites_WhenRead_ThenSeeThemBeforeCommit()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      MemorySession session = transaction.getResourceManager();
+      session.put("balance", 150);
+      session.put("limit", 10);
+      session.remove("limit");
+
+      assertEquals(150, (int)session.get("balance"));
+      assertFalse(session.containsKey("limit"));
+      // other transactions do not see uncommitted writes
+      assertEquals(100, callOnOtherThread(() -> read("core", "balance")));
+      transaction.commit();
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Test
+  public void GivenConcurrentWriteOnSameKey_WhenCommit_ThenFirstCommitterWins()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      MemorySession session = transaction.getResourceManager();
+      session.put("balance", 110);
+
+      runOnOtherThread(() -> write("core", "balance", 120));
+
+      assertThrows(TransactionException.class, () -> transaction.commit());
+      transaction.rollback();
+    }
+    finally {
+      transaction.close();
+    }
+    assertEquals(120, read("core", "balance"));
+  }
+
+  @Test
+  public void GivenConcurrentWriteOnOtherKey_WhenCommit_ThenBothCommitted()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      MemorySession session = transaction.getResourceManager();
+      session.put("balance", 110);
+
+      runOnOtherThread(() -> write("core", "limit", 10));
+
+      transaction.commit();
+    }
+    finally {
+      transaction.close();
+    }
+    assertEquals(110, read("core", "balance"));
+    assertEquals(10, read("core", "limit"));
+  }
+
+  @Test
+  public void GivenReadOnlyTransaction_WhenWrite_ThenIllegalState()
+  {
+    Transaction transaction = manager.createReadOnlyTransaction("core");
+    try {
+      MemorySession session = transaction.getResourceManager();
+      assertTrue(session.isReadOnly());
+      assertEquals(100, (int)session.get("balance"));
+      assertThrows(IllegalStateException.class, () -> session.put("balance", 0));
+      assertThrows(IllegalStateException.class, () -> transaction.commit());
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Test
+  public void GivenReadOnlyTransaction_WhenNestedReadWrite_ThenIllegalState()
+  {
+    Transaction transaction = manager.createReadOnlyTransaction("core");
+    try {
+      assertThrows(IllegalStateException.class, () -> manager.createTransaction("core"));
+    }
+    finally {
+      transaction.close();
+    }
+  }
+
+  @Test
+  public void GivenMultipleSchemas_WhenWrite_ThenSchemasIsolated()
+  {
+    write("audit", "balance", 1);
+
+    assertEquals(100, read("core", "balance"));
+    assertEquals(1, read("audit", "balance"));
+    assertNull(manager.exec((MemorySession session, Object... args) -> session.get("balance")));
+  }
+
+  @Test
+  public void GivenNestedRollback_WhenOuterCommit_ThenRollbackOnly()
+  {
+    Transaction transaction = manager.createTransaction("core");
+    try {
+      ((MemorySession)transaction.getResourceManager()).put("balance", 0);
+      Transaction nested = manager.createTransaction("core");
+      nested.rollback();
+      assertFalse(nested.close());
+
+      assertThrows(TransactionException.class, () -> transaction.commit());
+    }
+    finally {
+      transaction.close();
+    }
+    assertEquals(100, read("core", "balance"));
+  }
+
+  @Test
+  public void GivenConcurrentIncrements_WhenRetryOnConflict_ThenNoLostUpdates() throws Exception
+  {
+    int threads = 8;
+    int increments = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for(int i = 0; i < threads; ++i) {
+        futures.add(executor.submit(() -> {
+          for(int j = 0; j < increments; ++j) {
+            for(;;) {
+              try {
+                manager.exec("core", (MemorySession session, Object... args) -> {
+                  session.put("balance", (int)session.get("balance") + 1);
+                  return null;
+                });
+                break;
+              }
+              catch(TransactionException e) {
+                // write-write conflict; retry on a new snapshot
+              }
+            }
+          }
+        }));
+      }
+      for(Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+    assertEquals(100 + threads * increments, read("core", "balance"));
+  }
+
+  private void write(String schema, String key, int value)
+  {
+    manager.exec(schema, (MemorySession session, Object... args) -> {
+      session.put(key, value);
+      return null;
+    });
+  }
+
+  private int read(String schema, String key)
+  {
+    Integer value = manager.exec(schema, (MemorySession session, Object... args) -> session.get(key));
+    return value;
+  }
+
+  private static void runOnOtherThread(Runnable runnable)
+  {
+    CompletableFuture.runAsync(runnable).join();
+  }
+
+  private static <T> T callOnOtherThread(Supplier<T> supplier)
+  {
+    return CompletableFuture.supplyAsync(supplier).join();
+  }
+}